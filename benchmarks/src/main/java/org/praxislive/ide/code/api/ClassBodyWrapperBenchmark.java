@@ -0,0 +1,78 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.code.api;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Wrapping of class body source into a full class, as performed whenever code
+ * is opened for editing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassBodyWrapperBenchmark {
+
+    @Param({"50", "1000"})
+    public int lines;
+
+    private String source;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("import java.util.ArrayList;\n");
+        sb.append("import java.util.List;\n\n");
+        sb.append("@P(1) double value;\n\n");
+        sb.append("@Override\npublic void update() {\n");
+        for (int i = 0; i < lines; i++) {
+            sb.append("    value = value * 0.5 + ").append(i).append(";\n");
+        }
+        sb.append("}\n");
+        source = sb.toString();
+    }
+
+    @Benchmark
+    public String wrap() {
+        return ClassBodyWrapper.create()
+                .className("Benchmark")
+                .defaultImports(List.of("java.util.*", "static org.praxislive.code.userapi.Constants.*"))
+                .extendsType("org.praxislive.core.code.CoreCodeDelegate")
+                .wrap(source);
+    }
+
+}
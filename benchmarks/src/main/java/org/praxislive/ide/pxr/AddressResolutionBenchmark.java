@@ -0,0 +1,117 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.ComponentType;
+import org.praxislive.core.Info;
+import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.protocols.ContainerProtocol;
+import org.praxislive.core.types.PMap;
+
+/**
+ * Resolution of the addresses of all proxies in a container, compared with the
+ * identity scan over the children of each parent that was previously used.
+ * The proxy tree is built without a hub, so no properties are bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddressResolutionBenchmark {
+
+    @Param({"100", "2000", "10000"})
+    public int children;
+
+    private PXRContainerProxy container;
+    private PXRComponentProxy[] proxies;
+
+    @Setup
+    public void setup() {
+        ComponentInfo rootInfo = Info.component()
+                .protocol(ComponentProtocol.class)
+                .protocol(ContainerProtocol.class)
+                .build();
+        PXRRootProxy root = new PXRRootProxy(null, null, null, "benchmark",
+                ComponentType.of("root:custom"), rootInfo);
+        container = (PXRContainerProxy) root.addChildProxy("container",
+                data("core:container", rootInfo), PMap.EMPTY);
+        ComponentInfo childInfo = Info.component()
+                .protocol(ComponentProtocol.class)
+                .build();
+        proxies = new PXRComponentProxy[children];
+        for (int i = 0; i < children; i++) {
+            proxies[i] = container.addChildProxy("child" + i,
+                    data("core:custom", childInfo), PMap.EMPTY);
+        }
+    }
+
+    @Benchmark
+    public void cached(Blackhole bh) {
+        for (PXRComponentProxy proxy : proxies) {
+            bh.consume(proxy.getAddress());
+        }
+    }
+
+    @Benchmark
+    public void scan(Blackhole bh) {
+        for (PXRComponentProxy proxy : proxies) {
+            bh.consume(scanAddress(proxy));
+        }
+    }
+
+    private static ComponentAddress scanAddress(PXRComponentProxy proxy) {
+        PXRContainerProxy parent = proxy.getParent();
+        if (parent instanceof PXRRootProxy root) {
+            return ComponentAddress.of(root.getAddress(), scanID(root, proxy));
+        }
+        return ComponentAddress.of(scanAddress(parent), scanID(parent, proxy));
+    }
+
+    private static String scanID(PXRContainerProxy parent, PXRComponentProxy child) {
+        return parent.children()
+                .filter(id -> parent.getChild(id) == child)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static PMap data(String type, ComponentInfo info) {
+        return PMap.of("%type", ComponentType.of(type), "%info", info);
+    }
+
+}
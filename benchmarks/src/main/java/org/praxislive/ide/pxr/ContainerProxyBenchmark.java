@@ -0,0 +1,162 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.ComponentType;
+import org.praxislive.core.Connection;
+import org.praxislive.core.Info;
+import org.praxislive.core.Value;
+import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.protocols.ContainerProtocol;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PMap;
+
+/**
+ * Updates of the children and connections of a {@link PXRContainerProxy}, as
+ * made when its bindings report a child added or removed. The proxy tree is
+ * built without a hub, as in {@link AddressResolutionBenchmark}, and the
+ * serialized data of added children is supplied directly rather than fetched.
+ * Each benchmark restores the container to its initial state, so measures a
+ * change and its reversal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainerProxyBenchmark {
+
+    private static final int BATCH = 100;
+
+    @Param({"100", "1000", "10000"})
+    public int children;
+
+    private PXRContainerProxy container;
+    private Value connectionsValue;
+    private Value connectionsAddedValue;
+    private List<String> addedIDs;
+    private Map<String, PMap> addedData;
+    private Set<Connection> initialConnections;
+    private Set<Connection> addedConnections;
+    private Set<Connection> childConnections;
+
+    @Setup
+    public void setup() throws Exception {
+        ComponentInfo rootInfo = Info.component()
+                .protocol(ComponentProtocol.class)
+                .protocol(ContainerProtocol.class)
+                .build();
+        ComponentInfo childInfo = Info.component()
+                .protocol(ComponentProtocol.class)
+                .build();
+        PXRRootProxy root = new PXRRootProxy(null, null, null, "benchmark",
+                ComponentType.of("root:custom"), rootInfo);
+        container = (PXRContainerProxy) root.addChildProxy("container",
+                data("core:container", rootInfo), PMap.EMPTY);
+
+        List<String> ids = new ArrayList<>();
+        Map<String, PMap> data = new LinkedHashMap<>();
+        List<Connection> cons = new ArrayList<>();
+        for (int i = 0; i < children; i++) {
+            String id = "child" + i;
+            ids.add(id);
+            data.put(id, data("core:custom", childInfo));
+            if (i > 0) {
+                cons.add(Connection.of("child" + (i - 1), "out", id, "in"));
+            }
+        }
+        connectionsValue = PArray.of(cons);
+
+        addedIDs = new ArrayList<>();
+        addedData = new LinkedHashMap<>();
+        for (int i = children; i < children + BATCH; i++) {
+            String id = "child" + i;
+            addedIDs.add(id);
+            addedData.put(id, data("core:custom", childInfo));
+            cons.add(Connection.of("child" + (i - 1), "out", id, "in"));
+        }
+        connectionsAddedValue = PArray.of(cons);
+
+        container.createChildProxies(ids, data);
+        initialConnections = PXRContainerProxy.parseConnections(connectionsValue);
+        addedConnections = PXRContainerProxy.parseConnections(connectionsAddedValue);
+        childConnections = new LinkedHashSet<>(initialConnections);
+        childConnections.add(cons.get(children - 1));
+        container.updateConnections(initialConnections);
+    }
+
+    // removal of connected children uses the connection index
+    @Benchmark
+    public long childAddedAndRemoved() {
+        String id = addedIDs.get(0);
+        container.createChildProxies(List.of(id), addedData);
+        container.updateConnections(childConnections);
+        container.removeChildProxies(List.of(id));
+        return container.children().count();
+    }
+
+    @Benchmark
+    public long childrenAddedAndRemoved() {
+        container.createChildProxies(addedIDs, addedData);
+        container.updateConnections(addedConnections);
+        container.removeChildProxies(addedIDs);
+        return container.connections().count();
+    }
+
+    @Benchmark
+    public long connectionsUnchanged() throws Exception {
+        container.updateConnections(PXRContainerProxy.parseConnections(connectionsValue));
+        return container.connections().count();
+    }
+
+    @Benchmark
+    public long connectionsChanged() throws Exception {
+        container.updateConnections(PXRContainerProxy.parseConnections(connectionsAddedValue));
+        container.updateConnections(PXRContainerProxy.parseConnections(connectionsValue));
+        return container.connections().count();
+    }
+
+    private static PMap data(String type, ComponentInfo info) {
+        return PMap.of("%type", ComponentType.of(type), "%info", info);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.project.GraphModel;
+
+/**
+ * Parse and write round trips of large graph files, as performed by
+ * {@link PXRFileHandler} when building a root and {@link SaveTask} when saving
+ * one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphModelBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int components;
+
+    private URI context;
+    private String script;
+    private GraphModel model;
+
+    @Setup
+    public void setup() throws Exception {
+        context = URI.create("file:/tmp/benchmark/");
+        script = createScript(components);
+        model = GraphModel.parse(context, script);
+    }
+
+    @Benchmark
+    public GraphModel parse() throws Exception {
+        return GraphModel.parse(context, script);
+    }
+
+    @Benchmark
+    public String write() {
+        return model.withContext(context).writeToString();
+    }
+
+    @Benchmark
+    public String roundTrip() throws Exception {
+        return GraphModel.parse(context, script).withContext(context).writeToString();
+    }
+
+    static String createScript(int components) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("@ /benchmark root:audio {\n");
+        sb.append("  #%praxis.version 6.0.0\n");
+        for (int i = 0; i < components; i++) {
+            sb.append("  @ ./gain").append(i).append(" audio:gain {\n");
+            sb.append("    #%graph.x ").append((i % 20) * 200).append('\n');
+            sb.append("    #%graph.y ").append((i / 20) * 100).append('\n');
+            sb.append("    .level ").append((i % 100) / 100.0).append('\n');
+            sb.append("  }\n");
+        }
+        for (int i = 1; i < components; i++) {
+            sb.append("  ~ ./gain").append(i - 1).append("!out ./gain")
+                    .append(i).append("!in\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.ComponentType;
+import org.praxislive.core.Connection;
+import org.praxislive.core.Info;
+import org.praxislive.core.Value;
+import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.protocols.ContainerProtocol;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PNumber;
+import org.praxislive.core.types.PString;
+
+/**
+ * Decoding of the response to a root {@code .serialize} call into a
+ * {@link ProxyCache.Node} tree, as performed by {@link PXRHelper} for a warm
+ * start snapshot. The response is held as text, as received from a hub in
+ * another process, so that each {@code %info} is parsed.
+ * <p>
+ * {@link #callingThread()} decodes on the thread that receives the response,
+ * which is the event thread time spent before decoding moved to the response
+ * executor. {@link #responseExecutor()} decodes on a pool, with completion
+ * handed back to a single thread standing in for the event thread, and
+ * measures end to end latency. {@link #eventThreadHandoff()} measures the
+ * work that remains on the event thread in the executor path - completing
+ * with an already decoded tree and running the dependent action. The event
+ * thread time saved is the difference between the first and last.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseDecodeBenchmark {
+
+    @Param({"5000"})
+    public int components;
+
+    private List<Value> response;
+    private ProxyCache.Node decoded;
+    private Map<ComponentInfo, ComponentInfo> interned;
+    private ExecutorService responseExecutor;
+    private ExecutorService eventThread;
+
+    @Setup
+    public void setup() {
+        response = List.of(PString.of(createResponse(components).toString()));
+        interned = new ConcurrentHashMap<>();
+        decoded = decode(response);
+        responseExecutor = Executors.newFixedThreadPool(2);
+        eventThread = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        responseExecutor.shutdownNow();
+        eventThread.shutdownNow();
+    }
+
+    @Benchmark
+    public ProxyCache.Node callingThread() {
+        return decode(response);
+    }
+
+    @Benchmark
+    public ProxyCache.Node responseExecutor() {
+        return CompletableFuture.supplyAsync(() -> decode(response), responseExecutor)
+                .thenApplyAsync(Function.identity(), eventThread)
+                .join();
+    }
+
+    @Benchmark
+    public void eventThreadHandoff(Blackhole bh) {
+        CompletableFuture<ProxyCache.Node> future = new CompletableFuture<>();
+        future.thenAccept(bh::consume);
+        future.complete(decoded);
+    }
+
+    private ProxyCache.Node decode(List<Value> args) {
+        return ProxyCache.fromSerialized("benchmark",
+                PMap.from(args.get(0)).orElseThrow(), this::intern);
+    }
+
+    private ComponentInfo intern(ComponentInfo info) {
+        ComponentInfo existing = interned.putIfAbsent(info, info);
+        return existing == null ? info : existing;
+    }
+
+    static PMap createResponse(int components) {
+        ComponentInfo rootInfo = Info.component()
+                .protocol(ComponentProtocol.class)
+                .protocol(ContainerProtocol.class)
+                .build();
+        ComponentInfo childInfo = Info.component()
+                .protocol(ComponentProtocol.class)
+                .build();
+        PMap.Builder root = PMap.builder()
+                .put("%type", ComponentType.of("root:audio"))
+                .put("%info", rootInfo);
+        for (int i = 0; i < components; i++) {
+            root.put("@gain" + i, PMap.builder()
+                    .put("%type", ComponentType.of("audio:gain"))
+                    .put("%info", childInfo)
+                    .put("meta", PMap.builder()
+                            .put("graph.x", PNumber.of((i % 20) * 200))
+                            .put("graph.y", PNumber.of((i / 20) * 100))
+                            .build())
+                    .put("level", PNumber.of((i % 100) / 100.0))
+                    .build());
+        }
+        List<Connection> connections = new ArrayList<>(components);
+        for (int i = 1; i < components; i++) {
+            connections.add(Connection.of("gain" + (i - 1), "out", "gain" + i, "in"));
+        }
+        root.put("%connections", PArray.of(connections));
+        return root.build();
+    }
+
+}
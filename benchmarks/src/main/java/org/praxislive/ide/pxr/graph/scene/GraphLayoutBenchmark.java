@@ -0,0 +1,98 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr.graph.scene;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Layout of graphs of increasing size through {@link PraxisGraphScene}, which
+ * delegates to the graph layout used by the graph editor. The scene is
+ * validated against an offscreen image so no display is required.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GraphLayoutBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int nodes;
+
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private PraxisGraphScene<String> scene;
+
+    @Setup(Level.Trial)
+    public void setupGraphics() {
+        image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupScene() {
+        scene = new PraxisGraphScene<>();
+        scene.setAnimateChanges(false);
+        for (int i = 0; i < nodes; i++) {
+            String node = "node" + i;
+            scene.addNode(node, node);
+            scene.addPin(node, "in", Alignment.Left);
+            scene.addPin(node, "out", Alignment.Right);
+        }
+        for (int i = 1; i < nodes; i++) {
+            scene.connect("node" + (i - 1), "out", "node" + i, "in");
+            if (i % 7 == 0) {
+                scene.connect("node" + (i / 2), "out", "node" + i, "in");
+            }
+        }
+        scene.validate(graphics);
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeGraphics() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public PraxisGraphScene<String> layout() {
+        scene.layoutScene();
+        scene.validate(graphics);
+        return scene;
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.tableeditor;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and writing of table data, as performed by the table editor on load
+ * and save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableUtilsBenchmark {
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    @Param({"4", "16"})
+    public int columns;
+
+    private String data;
+    private PraxisTableModels models;
+
+    @Setup
+    public void setup() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int table = 0; table < 2; table++) {
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < columns; c++) {
+                    if (c > 0) {
+                        sb.append(' ');
+                    }
+                    switch (c % 3) {
+                        case 0 ->
+                            sb.append(r * columns + c);
+                        case 1 ->
+                            sb.append("value").append(c);
+                        default ->
+                            sb.append("\"quoted value ").append(r).append('"');
+                    }
+                }
+                sb.append('\n');
+            }
+            sb.append('\n');
+        }
+        data = sb.toString();
+        models = TableUtils.parse(data);
+    }
+
+    @Benchmark
+    public PraxisTableModels parse() throws Exception {
+        return TableUtils.parse(data);
+    }
+
+    @Benchmark
+    public String write() {
+        return TableUtils.write(models);
+    }
+
+}
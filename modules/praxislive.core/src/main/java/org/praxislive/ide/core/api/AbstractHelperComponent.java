@@ -21,14 +21,20 @@
  */
 package org.praxislive.ide.core.api;
 
+import java.awt.EventQueue;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.swing.Timer;
 import org.praxislive.base.AbstractComponent;
 import org.praxislive.base.Binding;
 import org.praxislive.base.BindingContext;
@@ -44,6 +50,7 @@ import org.praxislive.core.Value;
 import org.praxislive.core.services.ScriptService;
 import org.praxislive.core.services.Service;
 import org.praxislive.core.services.ServiceUnavailableException;
+import org.praxislive.core.types.PError;
 import org.praxislive.core.types.PString;
 
 /**
@@ -60,20 +67,34 @@ public class AbstractHelperComponent extends AbstractComponent {
      */
     public final static String PROP_HUB_CONNECTED = "connected";
 
+    /**
+     * The default timeout applied to calls that do not specify their own, so
+     * that calls to a hung or removed root do not wait for a response for
+     * ever. Calls that may legitimately take longer, such as building or
+     * serializing large graphs, should pass a zero timeout to opt out.
+     */
+    public final static Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
     private final PropertyChangeSupport pcs;
     private final SendControl sender;
+    private final CallMetrics metrics;
     private final String sendID;
 
     private boolean connected;
     private BindingContext bindingContext;
+    private SyncScheduler syncScheduler;
     private PacketRouter router;
     private ExecutionContext context;
+    private Duration defaultTimeout;
+    private Executor responseExecutor;
 
     /**
      * Create a helper component.
      */
     protected AbstractHelperComponent() {
         pcs = new PropertyChangeSupport(this);
+        defaultTimeout = DEFAULT_TIMEOUT;
+        metrics = new CallMetrics();
         sendID = "_send_" + Integer.toHexString(System.identityHashCode(this));
         sender = new SendControl();
         registerControl(sendID, sender);
@@ -114,9 +135,11 @@ public class AbstractHelperComponent extends AbstractComponent {
         router = getLookup().find(PacketRouter.class).orElse(null);
         context = getLookup().find(ExecutionContext.class).orElse(null);
         bindingContext = getLookup().find(BindingContext.class).orElse(null);
+        syncScheduler = getLookup().find(SyncScheduler.class).orElse(null);
         if (connected) {
             if (bindingContext == null) {
                 connected = false;
+                sender.failPending();
                 pcs.firePropertyChange(PROP_HUB_CONNECTED, true, false);
             }
         } else if (bindingContext != null) {
@@ -149,6 +172,94 @@ public class AbstractHelperComponent extends AbstractComponent {
         return super.findService(service);
     }
 
+    /**
+     * Set the timeout applied to calls that do not specify their own. If a
+     * response is not received within the timeout, the callback will be
+     * called with an error wrapping a {@link CallTimeoutException}. A zero
+     * duration disables the default timeout.
+     *
+     * @param timeout default timeout
+     * @throws IllegalArgumentException if timeout is negative
+     */
+    public void setDefaultTimeout(Duration timeout) {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Negative timeout");
+        }
+        this.defaultTimeout = timeout;
+    }
+
+    /**
+     * Query the timeout applied to calls that do not specify their own.
+     *
+     * @return default timeout
+     */
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * Set an executor on which responses passed to
+     * {@link #sendAndDecode(org.praxislive.core.ControlAddress, java.util.List, java.util.function.Function)}
+     * and
+     * {@link #execScriptAndDecode(java.lang.String, java.util.function.Function)}
+     * are decoded. This allows a helper to opt in to parsing large responses,
+     * such as serialized maps or component info, off the Swing event thread.
+     * If null, the default, responses are decoded on the event thread.
+     *
+     * @param executor executor for response decoding, or null
+     */
+    protected final void setResponseExecutor(Executor executor) {
+        this.responseExecutor = executor;
+    }
+
+    /**
+     * Query the executor on which responses are decoded, if set.
+     *
+     * @return response executor or null
+     */
+    protected final Executor getResponseExecutor() {
+        return responseExecutor;
+    }
+
+    /**
+     * Query the number of calls currently awaiting a response.
+     *
+     * @return number of calls in flight
+     */
+    public int getPendingCallCount() {
+        return sender.calls.size();
+    }
+
+    /**
+     * Query the total number of calls that have been failed because no
+     * response was received within their timeout.
+     *
+     * @return number of timed out calls
+     */
+    public long getTimedOutCallCount() {
+        return sender.calls.timedOutCount();
+    }
+
+    /**
+     * Query the total number of responses received for calls that had
+     * already timed out.
+     *
+     * @return number of late replies
+     */
+    public long getLateReplyCount() {
+        return sender.calls.lateReplyCount();
+    }
+
+    /**
+     * Access the round-trip metrics of calls sent by this helper. The metrics
+     * may be queried from any thread.
+     *
+     * @return call metrics
+     */
+    public CallMetrics getCallMetrics() {
+        return metrics;
+    }
+
     /**
      * Send a call to a control with the provided arguments.
      *
@@ -160,7 +271,28 @@ public class AbstractHelperComponent extends AbstractComponent {
     // @TODO track and sync sends to existing bindings?
     public void send(ControlAddress to, List<Value> args, Callback callback)
             throws HubUnavailableException {
-        sender.send(to, args, callback);
+        sender.send(to, args, callback, defaultTimeout);
+    }
+
+    /**
+     * Send a call to a control with the provided arguments and timeout. If a
+     * response is not received within the timeout, the callback will be called
+     * with an error wrapping a {@link CallTimeoutException}. A zero duration
+     * disables the timeout for this call.
+     *
+     * @param to control to call
+     * @param args arguments
+     * @param callback callback to handle response
+     * @param timeout call timeout
+     * @throws HubUnavailableException if not connected
+     * @throws IllegalArgumentException if timeout is negative
+     */
+    public void send(ControlAddress to, List<Value> args, Callback callback,
+            Duration timeout) throws HubUnavailableException {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Negative timeout");
+        }
+        sender.send(to, args, callback, timeout);
     }
 
     /**
@@ -181,6 +313,28 @@ public class AbstractHelperComponent extends AbstractComponent {
         }
     }
 
+    /**
+     * Send a call to a control with the provided arguments and timeout,
+     * returning a {@link CompletionStage} that will complete with the result of
+     * the call. If a response is not received within the timeout, the stage
+     * will complete exceptionally with a {@link CallTimeoutException}.
+     *
+     * @param to control to call
+     * @param args arguments
+     * @param timeout call timeout
+     * @return completion stage
+     */
+    public CompletionStage<List<Value>> send(ControlAddress to, List<Value> args,
+            Duration timeout) {
+        try {
+            CompletableFuture<List<Value>> future = new CompletableFuture<>();
+            send(to, args, Callback.create(future), timeout);
+            return future.minimalCompletionStage();
+        } catch (Exception ex) {
+            return CompletableFuture.failedStage(ex);
+        }
+    }
+
     /**
      * Send a call to a control on a service with the provided arguments.
      *
@@ -233,6 +387,27 @@ public class AbstractHelperComponent extends AbstractComponent {
         send(ScriptService.class, ScriptService.EVAL, List.of(PString.of(script)), callback);
     }
 
+    /**
+     * Execute the provided script in the registered {@link ScriptService} with
+     * the provided timeout. If a response is not received within the timeout,
+     * the callback will be called with an error wrapping a
+     * {@link CallTimeoutException}. A zero duration disables the timeout for
+     * this call.
+     *
+     * @param script script to execute
+     * @param callback callback to handle response
+     * @param timeout call timeout
+     * @throws HubUnavailableException if not connected
+     * @throws ServiceUnavailableException if no script service found
+     * @throws IllegalArgumentException if timeout is negative
+     */
+    public void execScript(String script, Callback callback, Duration timeout)
+            throws HubUnavailableException, ServiceUnavailableException {
+        Objects.requireNonNull(script);
+        var to = ControlAddress.of(findService(ScriptService.class), ScriptService.EVAL);
+        send(to, List.of(PString.of(script)), callback, timeout);
+    }
+
     /**
      * Execute the provided script in the registered {@link ScriptService},
      * returning a {@link CompletionStage} that will complete with the result of
@@ -252,18 +427,224 @@ public class AbstractHelperComponent extends AbstractComponent {
     }
 
     /**
-     * Add a binding to the provided control.
+     * Execute the provided script in the registered {@link ScriptService} with
+     * the provided timeout, returning a {@link CompletionStage} that will
+     * complete with the result of execution. If a response is not received
+     * within the timeout, the stage will complete exceptionally with a
+     * {@link CallTimeoutException}.
+     *
+     * @param script script to execute
+     * @param timeout call timeout
+     * @return completion stage
+     */
+    public CompletionStage<List<Value>> execScript(String script, Duration timeout) {
+        try {
+            CompletableFuture<List<Value>> future = new CompletableFuture<>();
+            execScript(script, Callback.create(future), timeout);
+            return future.minimalCompletionStage();
+        } catch (Exception ex) {
+            return CompletableFuture.failedStage(ex);
+        }
+    }
+
+    /**
+     * Send a call to a control with the provided arguments, returning a
+     * {@link CompletionStage} that will complete with the result of applying
+     * the provided decoder to the response. If a response executor has been
+     * set, the decoder will run on that executor. The returned stage is always
+     * completed on the Swing event thread, so dependent actions may safely
+     * update the model.
+     * <p>
+     * The decoder must not access state confined to the event thread.
+     *
+     * @param <T> decoded result type
+     * @param to control to call
+     * @param args arguments
+     * @param decoder function to decode response arguments
+     * @return completion stage of decoded result
+     */
+    public <T> CompletionStage<T> sendAndDecode(ControlAddress to, List<Value> args,
+            Function<List<Value>, ? extends T> decoder) {
+        return decode(send(to, args), decoder);
+    }
+
+    /**
+     * Execute the provided script in the registered {@link ScriptService},
+     * returning a {@link CompletionStage} that will complete with the result of
+     * applying the provided decoder to the result of execution. See
+     * {@link #sendAndDecode(org.praxislive.core.ControlAddress, java.util.List, java.util.function.Function)}.
+     *
+     * @param <T> decoded result type
+     * @param script script to execute
+     * @param decoder function to decode result arguments
+     * @return completion stage of decoded result
+     */
+    public <T> CompletionStage<T> execScriptAndDecode(String script,
+            Function<List<Value>, ? extends T> decoder) {
+        return decode(execScript(script), decoder);
+    }
+
+    /**
+     * Execute the provided script in the registered {@link ScriptService}
+     * with the provided timeout, returning a {@link CompletionStage} that will
+     * complete with the result of applying the provided decoder to the result
+     * of execution. A zero duration disables the timeout for this call. See
+     * {@link #execScriptAndDecode(java.lang.String, java.util.function.Function)}.
+     *
+     * @param <T> decoded result type
+     * @param script script to execute
+     * @param timeout call timeout
+     * @param decoder function to decode result arguments
+     * @return completion stage of decoded result
+     */
+    public <T> CompletionStage<T> execScriptAndDecode(String script, Duration timeout,
+            Function<List<Value>, ? extends T> decoder) {
+        return decode(execScript(script, timeout), decoder);
+    }
+
+    private <T> CompletionStage<T> decode(CompletionStage<List<Value>> response,
+            Function<List<Value>, ? extends T> decoder) {
+        Executor executor = responseExecutor;
+        if (executor == null) {
+            return response.<T>thenApply(decoder);
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        response.<T>thenApplyAsync(decoder, executor)
+                .whenComplete((result, ex) -> EventQueue.invokeLater(() -> {
+            if (ex != null) {
+                future.completeExceptionally(
+                        ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause() : ex);
+            } else {
+                future.complete(result);
+            }
+        }));
+        return future.minimalCompletionStage();
+    }
+
+    /**
+     * Send all the calls in the provided batch, returning a
+     * {@link CompletionStage} that will complete with a list of results, in
+     * the same order as the calls were added to the batch, once all calls have
+     * completed. The calls are routed immediately one after another, without
+     * waiting for responses. Individual call errors, including timeouts, are
+     * reported in the results rather than failing the stage.
+     *
+     * @param batch calls to send
+     * @return completion stage of results
+     */
+    public CompletionStage<List<Callback.Result>> sendBatch(CallBatch batch) {
+        return sendBatch(batch, defaultTimeout);
+    }
+
+    /**
+     * Send all the calls in the provided batch with the provided timeout. See
+     * {@link #sendBatch(org.praxislive.ide.core.api.CallBatch)}.
+     *
+     * @param batch calls to send
+     * @param timeout timeout for each call
+     * @return completion stage of results
+     */
+    public CompletionStage<List<Callback.Result>> sendBatch(CallBatch batch,
+            Duration timeout) {
+        if (timeout.isNegative()) {
+            return CompletableFuture.failedStage(
+                    new IllegalArgumentException("Negative timeout"));
+        }
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedStage(List.of());
+        }
+        var results = new BatchResults(batch.size());
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                sender.send(batch.address(i), batch.args(i),
+                        results.callback(i), timeout);
+            }
+        } catch (HubUnavailableException ex) {
+            results.future.completeExceptionally(ex);
+        }
+        return results.future.minimalCompletionStage();
+    }
+
+    /**
+     * Add a binding to the provided control. If a {@link SyncScheduler} is
+     * available, the adaptor is registered with
+     * {@link SyncScheduler.Priority#VISIBLE} priority.
      *
      * @param address control address
      * @param adaptor binding adaptor
      */
     public void bind(ControlAddress address, Binding.Adaptor adaptor) {
-        if (address == null || adaptor == null) {
+        bind(address, adaptor, SyncScheduler.Priority.VISIBLE);
+    }
+
+    /**
+     * Add a binding to the provided control. If a {@link SyncScheduler} is
+     * available, the adaptor is registered with the provided priority.
+     *
+     * @param address control address
+     * @param adaptor binding adaptor
+     * @param priority sync priority
+     */
+    public void bind(ControlAddress address, Binding.Adaptor adaptor,
+            SyncScheduler.Priority priority) {
+        if (address == null || adaptor == null || priority == null) {
             throw new NullPointerException();
         }
+        if (syncScheduler != null) {
+            syncScheduler.register(adaptor, priority);
+        }
         bindingContext.bind(address, adaptor);
     }
 
+    /**
+     * Request a sync rate for a bound adaptor. The rate actually used may be
+     * lowered by the {@link SyncScheduler}, if available. Owners of adaptors
+     * passed to
+     * {@link #bind(org.praxislive.core.ControlAddress, org.praxislive.base.Binding.Adaptor)}
+     * should use this method in preference to setting the sync rate directly.
+     *
+     * @param adaptor binding adaptor
+     * @param rate requested sync rate
+     */
+    public void requestSyncRate(Binding.Adaptor adaptor, Binding.SyncRate rate) {
+        if (adaptor == null || rate == null) {
+            throw new NullPointerException();
+        }
+        if (syncScheduler != null) {
+            syncScheduler.requestSyncRate(adaptor, rate);
+        } else {
+            adaptor.setSyncRate(rate);
+        }
+    }
+
+    /**
+     * The sync scheduler of the hub, if available. Code syncing without a
+     * binding may register a {@link SyncScheduler.Syncer} with it.
+     *
+     * @return sync scheduler, or empty
+     */
+    public Optional<SyncScheduler> getSyncScheduler() {
+        return Optional.ofNullable(syncScheduler);
+    }
+
+    /**
+     * Set the priority of a bound adaptor, for example when the data it syncs
+     * is shown or hidden. Has no effect if no {@link SyncScheduler} is
+     * available.
+     *
+     * @param adaptor binding adaptor
+     * @param priority sync priority
+     */
+    public void setSyncPriority(Binding.Adaptor adaptor, SyncScheduler.Priority priority) {
+        if (adaptor == null || priority == null) {
+            throw new NullPointerException();
+        }
+        if (syncScheduler != null) {
+            syncScheduler.setPriority(adaptor, priority);
+        }
+    }
+
     /**
      * Remove a binding to the provided control.
      *
@@ -277,6 +658,9 @@ public class AbstractHelperComponent extends AbstractComponent {
         if (bindingContext != null) {
             bindingContext.unbind(address, adaptor);
         }
+        if (syncScheduler != null) {
+            syncScheduler.unregister(adaptor);
+        }
     }
 
     @Override
@@ -286,12 +670,13 @@ public class AbstractHelperComponent extends AbstractComponent {
 
     private class SendControl implements Control {
 
-        private final Map<Integer, Callback> pending;
+        private final PendingCalls calls;
 
         private ControlAddress fromAddress;
+        private Timer sweepTimer;
 
         private SendControl() {
-            this.pending = new HashMap<>();
+            this.calls = new PendingCalls();
         }
 
         @Override
@@ -306,18 +691,23 @@ public class AbstractHelperComponent extends AbstractComponent {
         }
 
         private void handleResponse(Call call, boolean error) {
-            var cb = pending.remove(call.matchID());
-            if (cb != null) {
+            var pc = calls.complete(call.matchID());
+            if (pc != null) {
+                long latency = System.nanoTime() - pc.sent;
+                metrics.record(pc.to, latency, error);
+                if (syncScheduler != null) {
+                    syncScheduler.recordLatency(latency);
+                }
                 if (error) {
-                    cb.onError(call.args());
+                    pc.callback.onError(call.args());
                 } else {
-                    cb.onReturn(call.args());
+                    pc.callback.onReturn(call.args());
                 }
             }
         }
 
-        private void send(ControlAddress to, List<Value> args, Callback callback)
-                throws HubUnavailableException {
+        private void send(ControlAddress to, List<Value> args, Callback callback,
+                Duration timeout) throws HubUnavailableException {
             if (router == null || context == null || fromAddress == null) {
                 throw new HubUnavailableException();
             }
@@ -330,8 +720,61 @@ public class AbstractHelperComponent extends AbstractComponent {
             }
             router.route(call);
             if (!quiet) {
-                pending.put(call.matchID(), callback);
+                calls.add(call.matchID(), to, callback, timeout, System.nanoTime());
+                if (calls.isActive() && sweepTimer == null) {
+                    sweepTimer = new Timer((int) TimeUnit.NANOSECONDS.toMillis(
+                            PendingCalls.TICK_NANOS), e -> sweep());
+                    sweepTimer.start();
+                }
+            }
+        }
+
+        // no responses will arrive after disconnection from the hub
+        private void failPending() {
+            stopTimer();
+            calls.failAll(PError.of(new HubUnavailableException()));
+        }
+
+        private void sweep() {
+            for (var pc : calls.expire(System.nanoTime())) {
+                metrics.recordTimeout(pc.to);
+                pc.callback.onError(List.of(PError.of(
+                        new CallTimeoutException(pc.to, pc.timeout))));
             }
+            if (!calls.isActive()) {
+                stopTimer();
+            }
+        }
+
+        private void stopTimer() {
+            if (sweepTimer != null) {
+                sweepTimer.stop();
+                sweepTimer = null;
+            }
+        }
+
+    }
+
+    private static final class BatchResults {
+
+        private final CompletableFuture<List<Callback.Result>> future;
+        private final Callback.Result[] results;
+
+        private int remaining;
+
+        private BatchResults(int size) {
+            this.future = new CompletableFuture<>();
+            this.results = new Callback.Result[size];
+            this.remaining = size;
+        }
+
+        private Callback callback(int index) {
+            return Callback.create(result -> {
+                results[index] = result;
+                if (--remaining == 0) {
+                    future.complete(List.of(results));
+                }
+            });
         }
 
     }
@@ -0,0 +1,91 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.core.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Value;
+
+/**
+ * A collection of calls to be sent together via
+ * {@link AbstractHelperComponent#sendBatch(org.praxislive.ide.core.api.CallBatch)}.
+ * The calls are routed in the order they were added, and the results are
+ * provided in the same order when all calls have completed.
+ * <p>
+ * A batch is not thread safe, and should be created and sent on the Swing event
+ * thread.
+ */
+public final class CallBatch {
+
+    private final List<ControlAddress> addresses;
+    private final List<List<Value>> args;
+
+    /**
+     * Create an empty call batch.
+     */
+    public CallBatch() {
+        addresses = new ArrayList<>();
+        args = new ArrayList<>();
+    }
+
+    /**
+     * Add a call to the provided control with the provided arguments.
+     *
+     * @param to control to call
+     * @param args arguments
+     * @return this
+     */
+    public CallBatch add(ControlAddress to, List<Value> args) {
+        this.addresses.add(Objects.requireNonNull(to));
+        this.args.add(List.copyOf(args));
+        return this;
+    }
+
+    /**
+     * Number of calls in the batch.
+     *
+     * @return number of calls
+     */
+    public int size() {
+        return addresses.size();
+    }
+
+    /**
+     * Query whether the batch contains no calls.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return addresses.isEmpty();
+    }
+
+    ControlAddress address(int index) {
+        return addresses.get(index);
+    }
+
+    List<Value> args(int index) {
+        return args.get(index);
+    }
+
+}
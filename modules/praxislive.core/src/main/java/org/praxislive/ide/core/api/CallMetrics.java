@@ -0,0 +1,262 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.core.api;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.praxislive.core.ControlAddress;
+
+/**
+ * Round-trip metrics of calls sent by an {@link AbstractHelperComponent}.
+ * Metrics are recorded for the helper as a whole, for each root the helper has
+ * sent calls to, and for each control address up to a fixed limit of
+ * addresses.
+ * <p>
+ * Recording is lock-free. Metrics may be queried from any thread.
+ */
+public final class CallMetrics {
+
+    /**
+     * Maximum number of control addresses tracked individually. Calls to
+     * further addresses are still recorded against the helper and root.
+     */
+    public static final int MAX_TRACKED_ADDRESSES = 512;
+
+    /**
+     * Header line of the columns written by
+     * {@link #writeCSV(java.lang.Appendable, java.lang.String)}, without line
+     * terminator.
+     */
+    public static final String CSV_HEADER
+            = "scope,key,calls,errors,timeouts,p50_ms,p99_ms,max_ms";
+
+    private final Stats total;
+    private final Map<String, Stats> roots;
+    private final Map<ControlAddress, Stats> addresses;
+
+    CallMetrics() {
+        total = new Stats();
+        roots = new ConcurrentHashMap<>();
+        addresses = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Metrics for all calls sent by the helper.
+     *
+     * @return total stats
+     */
+    public Stats total() {
+        return total;
+    }
+
+    /**
+     * Metrics for calls sent to each root, keyed by root ID. The returned map
+     * is an ordered snapshot.
+     *
+     * @return map of root ID to stats
+     */
+    public Map<String, Stats> roots() {
+        return new TreeMap<>(roots);
+    }
+
+    /**
+     * Metrics for calls sent to each tracked control address. The returned map
+     * is an ordered snapshot.
+     *
+     * @return map of control address to stats
+     */
+    public Map<ControlAddress, Stats> addresses() {
+        var map = new TreeMap<ControlAddress, Stats>(
+                (a1, a2) -> a1.toString().compareTo(a2.toString()));
+        map.putAll(addresses);
+        return map;
+    }
+
+    /**
+     * Reset all metrics.
+     */
+    public void reset() {
+        total.reset();
+        roots.clear();
+        addresses.clear();
+    }
+
+    /**
+     * Write all metrics as comma separated values, preceded by
+     * {@link #CSV_HEADER}. Rows are written for the helper total, each root,
+     * and each tracked address. Latencies are in milliseconds.
+     *
+     * @param out destination
+     * @throws IOException on write error
+     */
+    public void writeCSV(Appendable out) throws IOException {
+        out.append(CSV_HEADER).append('\n');
+        writeCSV(out, "");
+    }
+
+    /**
+     * Write all metrics as comma separated values, without a header. Each row
+     * starts with the provided prefix, allowing metrics from multiple helpers
+     * to be combined with additional leading columns.
+     *
+     * @param out destination
+     * @param prefix text to start each row
+     * @throws IOException on write error
+     */
+    public void writeCSV(Appendable out, String prefix) throws IOException {
+        writeCSVRow(out, prefix, "helper", "", total);
+        for (var entry : roots().entrySet()) {
+            writeCSVRow(out, prefix, "root", entry.getKey(), entry.getValue());
+        }
+        for (var entry : addresses().entrySet()) {
+            writeCSVRow(out, prefix, "address", entry.getKey().toString(), entry.getValue());
+        }
+    }
+
+    private void writeCSVRow(Appendable out, String prefix, String scope,
+            String key, Stats stats) throws IOException {
+        out.append(prefix)
+                .append(scope).append(',')
+                .append(key).append(',')
+                .append(Long.toString(stats.calls())).append(',')
+                .append(Long.toString(stats.errors())).append(',')
+                .append(Long.toString(stats.timeouts())).append(',')
+                .append(Double.toString(toMillis(stats.latency().valueAtPercentile(50)))).append(',')
+                .append(Double.toString(toMillis(stats.latency().valueAtPercentile(99)))).append(',')
+                .append(Double.toString(toMillis(stats.latency().max())))
+                .append('\n');
+    }
+
+    void record(ControlAddress to, long nanos, boolean error) {
+        total.record(nanos, error);
+        roots.computeIfAbsent(to.component().rootID(), k -> new Stats())
+                .record(nanos, error);
+        var stats = trackedStats(to);
+        if (stats != null) {
+            stats.record(nanos, error);
+        }
+    }
+
+    void recordTimeout(ControlAddress to) {
+        total.recordTimeout();
+        roots.computeIfAbsent(to.component().rootID(), k -> new Stats())
+                .recordTimeout();
+        var stats = trackedStats(to);
+        if (stats != null) {
+            stats.recordTimeout();
+        }
+    }
+
+    private Stats trackedStats(ControlAddress to) {
+        var stats = addresses.get(to);
+        if (stats == null && addresses.size() < MAX_TRACKED_ADDRESSES) {
+            stats = addresses.computeIfAbsent(to, k -> new Stats());
+        }
+        return stats;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Call metrics for a single scope.
+     */
+    public static final class Stats {
+
+        private final LatencyHistogram latency;
+        private final AtomicLong calls;
+        private final AtomicLong errors;
+        private final AtomicLong timeouts;
+
+        private Stats() {
+            latency = new LatencyHistogram();
+            calls = new AtomicLong();
+            errors = new AtomicLong();
+            timeouts = new AtomicLong();
+        }
+
+        /**
+         * Histogram of round-trip latencies of completed calls, including
+         * calls that returned an error.
+         *
+         * @return latency histogram
+         */
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        /**
+         * Total number of completed calls, including errors and timeouts.
+         *
+         * @return number of calls
+         */
+        public long calls() {
+            return calls.get();
+        }
+
+        /**
+         * Number of calls that completed with an error, including timeouts.
+         *
+         * @return number of errors
+         */
+        public long errors() {
+            return errors.get();
+        }
+
+        /**
+         * Number of calls that timed out.
+         *
+         * @return number of timeouts
+         */
+        public long timeouts() {
+            return timeouts.get();
+        }
+
+        private void record(long nanos, boolean error) {
+            latency.record(nanos);
+            calls.incrementAndGet();
+            if (error) {
+                errors.incrementAndGet();
+            }
+        }
+
+        private void recordTimeout() {
+            calls.incrementAndGet();
+            errors.incrementAndGet();
+            timeouts.incrementAndGet();
+        }
+
+        private void reset() {
+            latency.reset();
+            calls.set(0);
+            errors.set(0);
+            timeouts.set(0);
+        }
+
+    }
+
+}
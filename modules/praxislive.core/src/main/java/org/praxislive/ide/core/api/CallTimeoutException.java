@@ -0,0 +1,69 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.core.api;
+
+import java.time.Duration;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.types.PError;
+
+/**
+ * Exception used to fail a call into the PraxisCORE system when no response has
+ * been received before the call deadline expired.
+ */
+public class CallTimeoutException extends CallExecutionException {
+
+    private final ControlAddress to;
+    private final Duration timeout;
+
+    /**
+     * Create a new instance for a call to the given control that timed out
+     * after the given duration.
+     *
+     * @param to address of the control that was called
+     * @param timeout call timeout
+     */
+    public CallTimeoutException(ControlAddress to, Duration timeout) {
+        super(PError.of("Call to " + to + " timed out after "
+                + timeout.toMillis() + "ms"));
+        this.to = to;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Address of the control that was called.
+     *
+     * @return control address
+     */
+    public ControlAddress to() {
+        return to;
+    }
+
+    /**
+     * The timeout that expired.
+     *
+     * @return timeout
+     */
+    public Duration timeout() {
+        return timeout;
+    }
+
+}
@@ -59,6 +59,9 @@ public interface Callback {
 
     /**
      * Create a callback that completes the provided {@link CompletableFuture}.
+     * Errors complete the future exceptionally with a
+     * {@link CallExecutionException}, or a subtype such as
+     * {@link CallTimeoutException} where the error wraps one.
      *
      * @param future completable future
      * @return new callback
@@ -69,7 +72,10 @@ public interface Callback {
             public void onError(List<Value> args) {
                 CallExecutionException ex = args.stream()
                         .flatMap(v -> PError.from(v).stream())
-                        .map(CallExecutionException::new)
+                        .map(err -> err.exception()
+                        .filter(CallExecutionException.class::isInstance)
+                        .map(CallExecutionException.class::cast)
+                        .orElseGet(() -> new CallExecutionException(err)))
                         .findFirst().orElseGet(()
                                 -> new CallExecutionException(
                                         args.isEmpty() ? PError.of("Unknown call error")
@@ -0,0 +1,343 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.core.api;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * A task that executes a graph of tasks, respecting dependencies between them.
+ * Tasks whose dependencies have all completed are executed in the order they
+ * were added, with up to a maximum number of tasks running asynchronous
+ * operations at the same time.
+ * <p>
+ * If any task ends in error or is cancelled, no further tasks are started,
+ * running tasks are cancelled where possible, and this task ends in the same
+ * state once no tasks remain running. Cancelling this task cancels all running
+ * and waiting tasks.
+ * <p>
+ * As with all tasks, execution happens on the Swing event thread. Tasks run
+ * concurrently only in the sense that their asynchronous operations overlap.
+ */
+public class GraphTasks extends AbstractTask {
+
+    /**
+     * Default maximum number of tasks running at the same time.
+     */
+    public static final int DEFAULT_MAX_RUNNING = 4;
+
+    private final int maxRunning;
+    private final Map<Task, Node> nodes;
+    private final Queue<Node> ready;
+    private final Set<Node> running;
+    private final Map<Task, Duration> durations;
+    private final Listener listener;
+
+    private int remaining;
+    private State failure;
+    private boolean dispatching;
+
+    /**
+     * Create an empty graph of tasks with the default maximum number of
+     * running tasks.
+     */
+    public GraphTasks() {
+        this(DEFAULT_MAX_RUNNING);
+    }
+
+    /**
+     * Create an empty graph of tasks.
+     *
+     * @param maxRunning maximum number of tasks running at the same time
+     * @throws IllegalArgumentException if maxRunning is less than one
+     */
+    public GraphTasks(int maxRunning) {
+        if (maxRunning < 1) {
+            throw new IllegalArgumentException("maxRunning must be at least one");
+        }
+        this.maxRunning = maxRunning;
+        nodes = new LinkedHashMap<>();
+        ready = new ArrayDeque<>();
+        running = new LinkedHashSet<>();
+        durations = new LinkedHashMap<>();
+        listener = new Listener();
+    }
+
+    /**
+     * Add a task to the graph that will only be executed after all the
+     * provided dependencies have completed. Dependencies must already have
+     * been added, which ensures the graph cannot contain cycles. Tasks can
+     * only be added before this task is executed.
+     *
+     * @param task task to add
+     * @param dependencies tasks that must complete first
+     * @return this
+     * @throws IllegalArgumentException if the task has already been added, or
+     * a dependency has not
+     * @throws IllegalStateException if this task has already been executed
+     */
+    public GraphTasks add(Task task, Task... dependencies) {
+        return add(task, Arrays.asList(dependencies));
+    }
+
+    /**
+     * Add a task to the graph that will only be executed after all the
+     * provided dependencies have completed. See
+     * {@link #add(org.praxislive.ide.core.api.Task, org.praxislive.ide.core.api.Task...)}.
+     *
+     * @param task task to add
+     * @param dependencies tasks that must complete first
+     * @return this
+     * @throws IllegalArgumentException if the task has already been added, or
+     * a dependency has not
+     * @throws IllegalStateException if this task has already been executed
+     */
+    public GraphTasks add(Task task, List<Task> dependencies) {
+        if (getState() != State.NEW) {
+            throw new IllegalStateException("Tasks can only be added before execution");
+        }
+        if (nodes.containsKey(task)) {
+            throw new IllegalArgumentException("Task already added");
+        }
+        List<Node> deps = new ArrayList<>(dependencies.size());
+        for (Task dependency : dependencies) {
+            Node dep = nodes.get(dependency);
+            if (dep == null) {
+                throw new IllegalArgumentException("Dependency has not been added");
+            }
+            if (!deps.contains(dep)) {
+                deps.add(dep);
+            }
+        }
+        Node node = new Node(task, deps.size());
+        deps.forEach(dep -> dep.dependents.add(node));
+        nodes.put(task, node);
+        return this;
+    }
+
+    /**
+     * Number of tasks that have not yet finished.
+     *
+     * @return remaining tasks
+     */
+    public int remaining() {
+        return getState() == State.NEW ? nodes.size() : remaining;
+    }
+
+    /**
+     * Query the time taken by the provided task, from the start of its
+     * execution until it finished. The duration is only available once the
+     * task has finished.
+     *
+     * @param task task in this graph
+     * @return optional duration
+     */
+    public Optional<Duration> duration(Task task) {
+        return Optional.ofNullable(durations.get(task));
+    }
+
+    /**
+     * Access the durations of all finished tasks, in the order they finished.
+     * The returned map is a snapshot.
+     *
+     * @return map of task to duration
+     */
+    public Map<Task, Duration> durations() {
+        return new LinkedHashMap<>(durations);
+    }
+
+    protected void beforeExecute() {
+    }
+
+    protected void afterExecute() {
+    }
+
+    protected void beforeTask(Task task) {
+    }
+
+    protected void afterTask(Task task) {
+    }
+
+    @Override
+    protected final void handleExecute() throws Exception {
+        beforeExecute();
+        remaining = nodes.size();
+        if (remaining == 0) {
+            updateState(State.COMPLETED);
+            afterExecute();
+            return;
+        }
+        nodes.values().stream()
+                .filter(node -> node.waiting == 0)
+                .forEach(ready::add);
+        dispatch();
+    }
+
+    @Override
+    protected boolean handleCancel() {
+        if (failure == null) {
+            failure = State.CANCELLED;
+        }
+        cancelWaiting();
+        cancelRunning();
+        return running.isEmpty();
+    }
+
+    private void dispatch() {
+        if (dispatching) {
+            return;
+        }
+        dispatching = true;
+        try {
+            while (failure == null && running.size() < maxRunning && !ready.isEmpty()) {
+                start(ready.poll());
+            }
+        } finally {
+            dispatching = false;
+        }
+        if (getState() != State.RUNNING) {
+            return;
+        }
+        if (failure != null) {
+            if (running.isEmpty()) {
+                updateState(failure);
+                afterExecute();
+            }
+        } else if (remaining == 0) {
+            updateState(State.COMPLETED);
+            afterExecute();
+        }
+    }
+
+    private void start(Node node) {
+        Task task = node.task;
+        State state = task.getState();
+        node.started = true;
+        node.start = System.nanoTime();
+        if (state == State.NEW) {
+            beforeTask(task);
+            state = task.execute();
+        }
+        if (state == State.RUNNING) {
+            running.add(node);
+            task.addPropertyChangeListener(listener);
+        } else {
+            finished(node, state);
+        }
+    }
+
+    private void finished(Node node, State state) {
+        durations.put(node.task, Duration.ofNanos(System.nanoTime() - node.start));
+        remaining--;
+        afterTask(node.task);
+        if (state == State.COMPLETED) {
+            for (Node dependent : node.dependents) {
+                if (--dependent.waiting == 0) {
+                    ready.add(dependent);
+                }
+            }
+        } else if (failure == null) {
+            failure = state;
+            cancelWaiting();
+            cancelRunning();
+        }
+    }
+
+    private void cancelWaiting() {
+        ready.clear();
+        for (Node node : nodes.values()) {
+            if (!node.started && node.task.getState() == State.NEW) {
+                node.task.cancel();
+            }
+        }
+    }
+
+    private void cancelRunning() {
+        for (Node node : List.copyOf(running)) {
+            node.task.removePropertyChangeListener(listener);
+            if (node.task.cancel()) {
+                running.remove(node);
+                finished(node, State.CANCELLED);
+            } else {
+                node.task.addPropertyChangeListener(listener);
+            }
+        }
+    }
+
+    private Node findRunning(Object source) {
+        for (Node node : running) {
+            if (node.task == source) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private static final class Node {
+
+        private final Task task;
+        private final List<Node> dependents;
+
+        private int waiting;
+        private boolean started;
+        private long start;
+
+        private Node(Task task, int waiting) {
+            this.task = task;
+            this.waiting = waiting;
+            this.dependents = new ArrayList<>();
+        }
+
+    }
+
+    private class Listener implements PropertyChangeListener {
+
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) {
+            Node node = findRunning(evt.getSource());
+            if (node == null) {
+                return;
+            }
+            State taskState = node.task.getState();
+            if (taskState == State.RUNNING || taskState == State.NEW) {
+                return;
+            }
+            node.task.removePropertyChangeListener(this);
+            running.remove(node);
+            finished(node, taskState);
+            dispatch();
+        }
+
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.core.api;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size, log-linear histogram of latencies. Values are recorded with
+ * microsecond precision into buckets of eight per power of two, giving a
+ * relative error of at most 12.5%. Values above roughly an hour are clamped
+ * into the highest bucket.
+ * <p>
+ * Recording is lock-free and may happen on any thread. Queries are not atomic
+ * with respect to concurrent recording, but will not fail.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXP = 32;
+    private static final int BUCKETS = (MAX_EXP - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong count;
+    private final AtomicLong max;
+
+    /**
+     * Create an empty histogram.
+     */
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        count = new AtomicLong();
+        max = new AtomicLong();
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(indexOf(micros));
+        count.incrementAndGet();
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Total number of recorded latencies.
+     *
+     * @return count
+     */
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Maximum recorded latency, or zero if empty.
+     *
+     * @return max latency in nanoseconds
+     */
+    public long max() {
+        return TimeUnit.MICROSECONDS.toNanos(max.get());
+    }
+
+    /**
+     * Find the latency at the given percentile. The returned value is the
+     * highest value equivalent to the bucket the percentile falls in, limited
+     * by the maximum recorded value. Returns zero if empty.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return latency in nanoseconds
+     */
+    public long valueAtPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        double p = Math.min(Math.max(percentile, 0), 100);
+        long target = Math.max(1, (long) Math.ceil(p / 100 * total));
+        long accumulated = 0;
+        long maxMicros = max.get();
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulated += snapshot[i];
+            if (accumulated >= target) {
+                return TimeUnit.MICROSECONDS.toNanos(
+                        Math.min(highestEquivalent(i), maxMicros));
+            }
+        }
+        return TimeUnit.MICROSECONDS.toNanos(maxMicros);
+    }
+
+    /**
+     * Reset all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        max.set(0);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        if (exp >= MAX_EXP) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) ((value >>> (exp - SUB_BITS)) & (SUB_COUNT - 1));
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    private static long highestEquivalent(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exp = index / SUB_COUNT + SUB_BITS - 1;
+        int sub = index % SUB_COUNT;
+        return ((long) (SUB_COUNT + sub + 1) << (exp - SUB_BITS)) - 1;
+    }
+
+}
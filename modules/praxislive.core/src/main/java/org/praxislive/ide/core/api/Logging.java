@@ -21,11 +21,20 @@
  */
 package org.praxislive.ide.core.api;
 
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import javax.swing.Timer;
 import org.openide.util.Lookup;
+import org.openide.util.RequestProcessor;
 import org.praxislive.core.Value;
 import org.praxislive.core.Call;
 import org.praxislive.core.ComponentAddress;
@@ -35,10 +44,16 @@ import org.praxislive.core.PacketRouter;
 import org.praxislive.core.Info;
 import org.praxislive.core.services.LogLevel;
 import org.praxislive.core.services.LogService;
+import org.praxislive.core.types.PString;
 import org.praxislive.ide.core.spi.LogHandler;
 
 /**
- *
+ * Root providing the log service, passing log entries to all available
+ * {@link LogHandler}. Entries are queued in a bounded buffer by the root
+ * without blocking, and passed to handlers in batches on a single background
+ * thread. Each source component is limited to a maximum number of entries per
+ * second, with a summary of suppressed entries logged when the limit resets.
+ * Entries arriving while the buffer is full are dropped and counted.
  */
 @Deprecated
 public final class Logging extends AbstractIDERoot {
@@ -48,7 +63,21 @@ public final class Logging extends AbstractIDERoot {
             .protocol(LogService.class)
             .build();
 
+    private static final int BUFFER_SIZE = 4096;
+    private static final int MAX_BATCH = 256;
+    private static final int FLUSH_DELAY_MS = 20;
+    private static final int RATE_LIMIT = 100;
+    private static final long RATE_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
     private final List<LogHandler> handlers;
+    private final RingBuffer buffer;
+    private final Map<ComponentAddress, SourceLimit> limits;
+    private final RequestProcessor rp;
+    private final AtomicBoolean drainQueued;
+    private final AtomicLong droppedCount;
+    private final AtomicLong suppressedCount;
+
+    private Timer summaryTimer;
 
     private Logging(List<LogHandler> handlers) {
         if (handlers.isEmpty()) {
@@ -56,6 +85,12 @@ public final class Logging extends AbstractIDERoot {
         } else {
             this.handlers = handlers;
         }
+        buffer = new RingBuffer(BUFFER_SIZE);
+        limits = new HashMap<>();
+        rp = new RequestProcessor(Logging.class.getName(), 1);
+        drainQueued = new AtomicBoolean();
+        droppedCount = new AtomicLong();
+        suppressedCount = new AtomicLong();
         registerControl(LogService.LOG, new LogControl());
     }
     
@@ -75,14 +110,133 @@ public final class Logging extends AbstractIDERoot {
         return level;
     }
 
+    /**
+     * Number of log entries dropped because the buffer was full.
+     *
+     * @return dropped entry count
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Number of log entries suppressed because their source exceeded the rate
+     * limit.
+     *
+     * @return suppressed entry count
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    @Override
+    protected void setup() {
+        summaryTimer = new Timer((int) TimeUnit.NANOSECONDS.toMillis(RATE_WINDOW),
+                e -> flushLimits(false));
+        summaryTimer.start();
+    }
+
+    @Override
+    protected void dispose() {
+        if (summaryTimer != null) {
+            summaryTimer.stop();
+        }
+    }
+
     @Override
     protected void stopping() {
-        handlers.forEach(LogHandler::close);
+        flushLimits(true);
+        rp.post(() -> {
+            // drain everything, not just one batch, before closing handlers
+            while (drainBatch() > 0) {
+            }
+            handlers.forEach(LogHandler::close);
+        });
+    }
+
+    // producer side - only called on the root thread
+    private void log(ComponentAddress src, long time, LogLevel level, Value arg) {
+        long now = System.nanoTime();
+        SourceLimit limit = limits.computeIfAbsent(src, s -> new SourceLimit(now));
+        if (now - limit.windowStart >= RATE_WINDOW) {
+            summarize(src, time, limit);
+            limit.windowStart = now;
+        }
+        if (limit.count < RATE_LIMIT) {
+            limit.count++;
+            enqueue(new LogEntry(src, time, level, arg));
+        } else {
+            limit.suppressed++;
+            if (!level.isLoggable(limit.maxLevel)) {
+                limit.maxLevel = level;
+            }
+            suppressedCount.incrementAndGet();
+        }
+    }
+
+    private void flushLimits(boolean force) {
+        long now = System.nanoTime();
+        long time = getRootHub().getClock().getTime();
+        Iterator<Map.Entry<ComponentAddress, SourceLimit>> itr = limits.entrySet().iterator();
+        while (itr.hasNext()) {
+            var entry = itr.next();
+            SourceLimit limit = entry.getValue();
+            if (force || now - limit.windowStart >= RATE_WINDOW) {
+                if (limit.count == 0 && limit.suppressed == 0) {
+                    itr.remove();
+                    continue;
+                }
+                summarize(entry.getKey(), time, limit);
+                limit.windowStart = now;
+            }
+        }
+    }
+
+    private void summarize(ComponentAddress src, long time, SourceLimit limit) {
+        if (limit.suppressed > 0) {
+            enqueue(new LogEntry(src, time, limit.maxLevel,
+                    PString.of(limit.suppressed + " messages suppressed")));
+        }
+        limit.count = 0;
+        limit.suppressed = 0;
+        limit.maxLevel = LogLevel.DEBUG;
     }
 
-    private void dispatch(ComponentAddress src, long time, LogLevel level, Value arg) {
+    private void enqueue(LogEntry entry) {
+        if (!buffer.offer(entry)) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        if (drainQueued.compareAndSet(false, true)) {
+            rp.post(this::drain, FLUSH_DELAY_MS);
+        }
+    }
+
+    // consumer side - only called on the request processor
+    private void drain() {
+        drainQueued.set(false);
+        drainBatch();
+        if (!buffer.isEmpty() && drainQueued.compareAndSet(false, true)) {
+            rp.post(this::drain);
+        }
+    }
+
+    private int drainBatch() {
+        int count = 0;
+        LogEntry entry;
+        while (count < MAX_BATCH && (entry = buffer.poll()) != null) {
+            dispatch(entry);
+            count++;
+        }
+        if (count > 0) {
+            handlers.forEach(LogHandler::flush);
+        }
+        return count;
+    }
+
+    private void dispatch(LogEntry entry) {
         handlers.forEach(handler -> {
-            handler.log(src, time, level, arg);
+            handler.log(entry.source(), entry.time(), entry.level(), entry.message());
         });
     }
 
@@ -105,7 +259,7 @@ public final class Logging extends AbstractIDERoot {
                 var args = call.args();
                 for (int i = 1; i < args.size(); i += 2) {
                     LogLevel level = LogLevel.valueOf(args.get(i - 1).toString());
-                    dispatch(src, time, level, args.get(i));
+                    log(src, time, level, args.get(i));
                 }
             }
             if (call.isReplyRequired()) {
@@ -115,6 +269,71 @@ public final class Logging extends AbstractIDERoot {
 
     }
 
+    private static record LogEntry(ComponentAddress source, long time,
+            LogLevel level, Value message) {
+
+    }
+
+    private static final class SourceLimit {
+
+        private long windowStart;
+        private int count;
+        private int suppressed;
+        private LogLevel maxLevel;
+
+        private SourceLimit(long windowStart) {
+            this.windowStart = windowStart;
+            this.maxLevel = LogLevel.DEBUG;
+        }
+
+    }
+
+    /**
+     * Bounded, lock-free, single producer and single consumer queue.
+     */
+    private static final class RingBuffer {
+
+        private final AtomicReferenceArray<LogEntry> entries;
+        private final int mask;
+        private final AtomicLong head;
+        private final AtomicLong tail;
+
+        private RingBuffer(int capacity) {
+            assert Integer.bitCount(capacity) == 1;
+            entries = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+            head = new AtomicLong();
+            tail = new AtomicLong();
+        }
+
+        private boolean offer(LogEntry entry) {
+            long t = tail.get();
+            if (t - head.get() > mask) {
+                return false;
+            }
+            entries.set((int) (t & mask), entry);
+            tail.set(t + 1);
+            return true;
+        }
+
+        private LogEntry poll() {
+            long h = head.get();
+            if (h == tail.get()) {
+                return null;
+            }
+            int index = (int) (h & mask);
+            LogEntry entry = entries.get(index);
+            entries.set(index, null);
+            head.set(h + 1);
+            return entry;
+        }
+
+        private boolean isEmpty() {
+            return head.get() == tail.get();
+        }
+
+    }
+
     private static class FallbackHandler implements LogHandler {
 
         @Override
@@ -0,0 +1,232 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.core.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.types.PError;
+
+/**
+ * Calls sent by a helper component that are awaiting a response. Calls with a
+ * timeout are held in a timer wheel of {@link #WHEEL_SIZE} slots of
+ * {@link #TICK_NANOS}, so that expiring calls only needs to visit the slots
+ * that have passed since the last expiry. The IDs of expired calls are
+ * remembered, up to {@link #MAX_EXPIRED_IDS}, so that late replies can be
+ * counted.
+ * <p>
+ * Times are passed in, as {@link System#nanoTime()} values, rather than read
+ * from the clock. Not thread safe.
+ */
+final class PendingCalls {
+
+    static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final int WHEEL_SIZE = 64;
+    static final int MAX_EXPIRED_IDS = 1024;
+
+    private final Map<Integer, Entry> pending;
+    private final List<List<Entry>> wheel;
+    private final Map<Integer, Boolean> expired;
+
+    private boolean active;
+    private long lastTick;
+    private int scheduled;
+    private long timedOutCount;
+    private long lateReplyCount;
+
+    PendingCalls() {
+        this.pending = new HashMap<>();
+        this.wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.expired = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+                return size() > MAX_EXPIRED_IDS;
+            }
+        };
+    }
+
+    /**
+     * Add a call awaiting a response. A zero timeout never expires.
+     *
+     * @param matchID call match ID
+     * @param to control address the call was sent to
+     * @param callback response callback
+     * @param timeout call timeout
+     * @param now current time in nanoseconds
+     * @return entry
+     */
+    Entry add(int matchID, ControlAddress to, Callback callback, Duration timeout, long now) {
+        Entry entry = new Entry(matchID, to, callback, timeout, now);
+        pending.put(matchID, entry);
+        if (entry.deadline != 0) {
+            if (!active) {
+                active = true;
+                lastTick = Math.floorDiv(now, TICK_NANOS);
+            }
+            long tick = Math.max(Math.floorDiv(entry.deadline, TICK_NANOS) + 1, lastTick + 1);
+            wheel.get((int) Math.floorMod(tick, WHEEL_SIZE)).add(entry);
+            scheduled++;
+        }
+        return entry;
+    }
+
+    /**
+     * Remove the call matching a response. If the call has already expired,
+     * the response is counted as a late reply.
+     *
+     * @param matchID match ID of response
+     * @return entry, or null if no call is pending
+     */
+    Entry complete(int matchID) {
+        Entry entry = pending.remove(matchID);
+        if (entry != null) {
+            if (entry.deadline != 0) {
+                scheduled--;
+            }
+        } else if (expired.remove(matchID) != null) {
+            lateReplyCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * Remove and return all calls whose deadline has passed. The caller is
+     * responsible for completing their callbacks.
+     *
+     * @param now current time in nanoseconds
+     * @return expired calls, may be empty
+     */
+    List<Entry> expire(long now) {
+        if (!active) {
+            return List.of();
+        }
+        long tick = Math.floorDiv(now, TICK_NANOS);
+        long slots = Math.min(tick - lastTick, WHEEL_SIZE);
+        List<Entry> timedOut = new ArrayList<>();
+        for (long t = tick - slots + 1; t <= tick; t++) {
+            Iterator<Entry> itr = wheel.get((int) Math.floorMod(t, WHEEL_SIZE)).iterator();
+            while (itr.hasNext()) {
+                Entry entry = itr.next();
+                if (pending.get(entry.matchID) != entry) {
+                    itr.remove();
+                } else if (entry.deadline - now <= 0) {
+                    itr.remove();
+                    timedOut.add(entry);
+                }
+            }
+        }
+        lastTick = tick;
+        for (Entry entry : timedOut) {
+            pending.remove(entry.matchID);
+            scheduled--;
+            expired.put(entry.matchID, Boolean.TRUE);
+            timedOutCount++;
+        }
+        if (scheduled <= 0) {
+            reset();
+        }
+        return timedOut;
+    }
+
+    /**
+     * Remove all pending calls and complete their callbacks with an error.
+     *
+     * @param error error to pass to callbacks
+     * @return number of calls failed
+     */
+    int failAll(PError error) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Entry> calls = List.copyOf(pending.values());
+        pending.clear();
+        reset();
+        for (Entry entry : calls) {
+            entry.callback.onError(List.of(error));
+        }
+        return calls.size();
+    }
+
+    /**
+     * Query whether any calls with a timeout are pending, and so calls to
+     * {@link #expire(long)} are required.
+     *
+     * @return true if active
+     */
+    boolean isActive() {
+        return active;
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    long timedOutCount() {
+        return timedOutCount;
+    }
+
+    long lateReplyCount() {
+        return lateReplyCount;
+    }
+
+    private void reset() {
+        active = false;
+        scheduled = 0;
+        wheel.forEach(List::clear);
+    }
+
+    static final class Entry {
+
+        final int matchID;
+        final ControlAddress to;
+        final Callback callback;
+        final Duration timeout;
+        final long sent;
+        final long deadline;
+
+        private Entry(int matchID, ControlAddress to, Callback callback,
+                Duration timeout, long now) {
+            this.matchID = matchID;
+            this.to = to;
+            this.callback = callback;
+            this.timeout = timeout;
+            this.sent = now;
+            if (timeout.isZero()) {
+                deadline = 0;
+            } else {
+                long d = now + timeout.toNanos();
+                deadline = d == 0 ? 1 : d;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,473 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.core.api;
+
+import java.awt.EventQueue;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.swing.Timer;
+import org.praxislive.base.Binding;
+
+/**
+ * A hub wide scheduler of binding sync rates. Adaptors bound via
+ * {@link AbstractHelperComponent#bind(org.praxislive.core.ControlAddress, org.praxislive.base.Binding.Adaptor)}
+ * are registered automatically when a scheduler is available in the hub
+ * lookup. Owners of adaptors request a sync rate via
+ * {@link AbstractHelperComponent#requestSyncRate(org.praxislive.base.Binding.Adaptor, org.praxislive.base.Binding.SyncRate)}
+ * rather than setting it directly, and the scheduler decides the rate actually
+ * used.
+ * <p>
+ * The scheduler keeps the estimated number of sync requests per second of all
+ * active adaptors within a budget. When over budget, rates of
+ * {@link Priority#BACKGROUND} adaptors are lowered first, then those of
+ * {@link Priority#VISIBLE} adaptors, down to {@link Binding.SyncRate#Low}.
+ * Background adaptors that still do not fit within the budget take turns to
+ * sync. If visible adaptors alone do not fit at the lowest rate, background
+ * adaptors are paused and visible adaptors take turns in the same way. Rates
+ * are also lowered while the measured round-trip latency of calls into the hub
+ * is high.
+ * <p>
+ * A newly registered adaptor does not sync until the scheduler has assigned it
+ * a rate, so that adaptors bound in bulk cannot exceed the budget before they
+ * are first scheduled.
+ * <p>
+ * Code that syncs without a binding, for example with a timer that syncs many
+ * values in one call per tick, can register a {@link Syncer} so that its calls
+ * are counted against the same budget.
+ * <p>
+ * All methods must be called on the Swing event thread.
+ */
+public final class SyncScheduler {
+
+    /**
+     * Default budget of sync requests per second.
+     */
+    public static final int DEFAULT_BUDGET = 200;
+
+    private static final int SCHEDULE_MS = 1000;
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final double LATENCY_HIGH_MS = 20;
+    private static final double LATENCY_VERY_HIGH_MS = 100;
+
+    /**
+     * A source of sync requests that is not a binding adaptor. The scheduler
+     * sets the rate at which it should sync, which it should follow until
+     * unregistered.
+     */
+    public static interface Syncer {
+
+        /**
+         * Query whether the syncer is currently syncing, and so counted
+         * against the budget.
+         *
+         * @return true if active
+         */
+        public boolean isActive();
+
+        /**
+         * Set the rate at which to sync, as decided by the scheduler. One sync
+         * request per tick is assumed, at the same intervals as binding sync
+         * rates.
+         *
+         * @param rate sync rate
+         */
+        public void setSyncRate(Binding.SyncRate rate);
+
+    }
+
+    /**
+     * Priority of an adaptor when the scheduler is over budget.
+     */
+    public static enum Priority {
+
+        /**
+         * Adaptor backing something currently visible to the user, such as a
+         * property sheet or graph.
+         */
+        VISIBLE,
+        /**
+         * Adaptor syncing state not directly visible to the user.
+         */
+        BACKGROUND
+
+    }
+
+    private final Map<Object, Entry> entries;
+    private final Timer timer;
+
+    private int budget;
+    private double latencyMillis;
+    private final Turns visibleTurns;
+    private final Turns backgroundTurns;
+
+    private int requestRate;
+    private boolean scheduleQueued;
+
+    /**
+     * Create a sync scheduler with the default budget.
+     */
+    public SyncScheduler() {
+        entries = new LinkedHashMap<>();
+        budget = DEFAULT_BUDGET;
+        visibleTurns = new Turns();
+        backgroundTurns = new Turns();
+        timer = new Timer(SCHEDULE_MS, e -> schedule());
+    }
+
+    /**
+     * Register an adaptor with the scheduler. The current sync rate of the
+     * adaptor is taken as its requested rate, and the adaptor does not sync
+     * until rates are next scheduled. Registering an already registered
+     * adaptor updates its priority.
+     *
+     * @param adaptor binding adaptor
+     * @param priority adaptor priority
+     */
+    public void register(Binding.Adaptor adaptor, Priority priority) {
+        registerImpl(adaptor, priority, () -> new Entry(adaptor, null, adaptor.getSyncRate()));
+    }
+
+    /**
+     * Register a syncer with the scheduler. The syncer does not sync until
+     * rates are next scheduled. Registering an already registered syncer
+     * updates its priority.
+     *
+     * @param syncer syncer
+     * @param rate requested sync rate
+     * @param priority syncer priority
+     */
+    public void register(Syncer syncer, Binding.SyncRate rate, Priority priority) {
+        registerImpl(syncer, priority, () -> new Entry(null, syncer, rate));
+    }
+
+    private void registerImpl(Object key, Priority priority, Supplier<Entry> factory) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = factory.get();
+            entry.priority = priority;
+            entries.put(key, entry);
+            entry.apply(Binding.SyncRate.None);
+            if (!timer.isRunning()) {
+                timer.start();
+            }
+        } else {
+            entry.priority = priority;
+        }
+        queueSchedule();
+    }
+
+    /**
+     * Unregister an adaptor. The adaptor is reset to its requested sync rate.
+     *
+     * @param adaptor binding adaptor
+     */
+    public void unregister(Binding.Adaptor adaptor) {
+        Entry entry = unregisterImpl(adaptor);
+        if (entry != null) {
+            entry.apply(entry.requested);
+        }
+    }
+
+    /**
+     * Unregister a syncer. The rate of the syncer is not changed.
+     *
+     * @param syncer syncer
+     */
+    public void unregister(Syncer syncer) {
+        unregisterImpl(syncer);
+    }
+
+    private Entry unregisterImpl(Object key) {
+        Entry entry = entries.remove(key);
+        if (entries.isEmpty()) {
+            timer.stop();
+        }
+        return entry;
+    }
+
+    /**
+     * Request a sync rate for an adaptor. If the adaptor is not registered,
+     * the rate is set directly.
+     *
+     * @param adaptor binding adaptor
+     * @param rate requested sync rate
+     */
+    public void requestSyncRate(Binding.Adaptor adaptor, Binding.SyncRate rate) {
+        if (!requestSyncRateImpl(adaptor, rate)) {
+            adaptor.setSyncRate(rate);
+        }
+    }
+
+    /**
+     * Request a sync rate for a registered syncer.
+     *
+     * @param syncer syncer
+     * @param rate requested sync rate
+     */
+    public void requestSyncRate(Syncer syncer, Binding.SyncRate rate) {
+        requestSyncRateImpl(syncer, rate);
+    }
+
+    private boolean requestSyncRateImpl(Object key, Binding.SyncRate rate) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.requested != rate) {
+            entry.requested = rate;
+            queueSchedule();
+        }
+        return true;
+    }
+
+    /**
+     * Set the priority of a registered adaptor.
+     *
+     * @param adaptor binding adaptor
+     * @param priority adaptor priority
+     */
+    public void setPriority(Binding.Adaptor adaptor, Priority priority) {
+        setPriorityImpl(adaptor, priority);
+    }
+
+    /**
+     * Set the priority of a registered syncer.
+     *
+     * @param syncer syncer
+     * @param priority syncer priority
+     */
+    public void setPriority(Syncer syncer, Priority priority) {
+        setPriorityImpl(syncer, priority);
+    }
+
+    private void setPriorityImpl(Object key, Priority priority) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.priority != priority) {
+            entry.priority = priority;
+            queueSchedule();
+        }
+    }
+
+    /**
+     * Set the budget of sync requests per second across all active adaptors.
+     *
+     * @param budget requests per second
+     * @throws IllegalArgumentException if budget is not positive
+     */
+    public void setBudget(int budget) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("Budget must be positive");
+        }
+        this.budget = budget;
+        queueSchedule();
+    }
+
+    /**
+     * Query the budget of sync requests per second.
+     *
+     * @return requests per second
+     */
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Query the estimated sync requests per second of all active adaptors, as
+     * of the last time rates were scheduled.
+     *
+     * @return estimated requests per second
+     */
+    public int getRequestRate() {
+        return requestRate;
+    }
+
+    /**
+     * Query the smoothed round-trip latency of calls into the hub, as reported
+     * by helper components.
+     *
+     * @return estimated latency
+     */
+    public Duration getEstimatedLatency() {
+        return Duration.ofNanos((long) (latencyMillis * TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    void recordLatency(long nanos) {
+        double millis = nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        latencyMillis += LATENCY_SMOOTHING * (millis - latencyMillis);
+    }
+
+    private void queueSchedule() {
+        if (!scheduleQueued) {
+            scheduleQueued = true;
+            EventQueue.invokeLater(this::schedule);
+        }
+    }
+
+    private void schedule() {
+        scheduleQueued = false;
+        int latencySteps = latencyMillis > LATENCY_VERY_HIGH_MS ? 2
+                : latencyMillis > LATENCY_HIGH_MS ? 1 : 0;
+        List<Entry> visible = new ArrayList<>();
+        List<Entry> background = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            entry.rate = lower(entry.requested, latencySteps);
+            if (entry.rate != Binding.SyncRate.None && entry.isActive()) {
+                if (entry.priority == Priority.VISIBLE) {
+                    visible.add(entry);
+                } else {
+                    background.add(entry);
+                }
+            }
+        }
+        int cost = cost(visible) + cost(background);
+        while (cost > budget && lowerAll(background)) {
+            cost = cost(visible) + cost(background);
+        }
+        while (cost > budget && lowerAll(visible)) {
+            cost = cost(visible) + cost(background);
+        }
+        if (cost > budget) {
+            int visibleCost = cost(visible);
+            if (visibleCost > budget) {
+                // visible entries alone exceed the budget at the lowest rate
+                background.forEach(entry -> entry.rate = Binding.SyncRate.None);
+                cost = visibleTurns.share(visible, budget);
+            } else {
+                // background entries take turns within whatever budget remains
+                cost = visibleCost + backgroundTurns.share(background, budget - visibleCost);
+            }
+        }
+        requestRate = cost;
+        entries.values().forEach(entry -> entry.apply(entry.rate));
+    }
+
+    private static boolean lowerAll(List<Entry> list) {
+        boolean lowered = false;
+        for (Entry entry : list) {
+            Binding.SyncRate rate = lower(entry.rate, 1);
+            if (rate != entry.rate) {
+                entry.rate = rate;
+                lowered = true;
+            }
+        }
+        return lowered;
+    }
+
+    private static Binding.SyncRate lower(Binding.SyncRate rate, int steps) {
+        while (steps > 0) {
+            switch (rate) {
+                case High ->
+                    rate = Binding.SyncRate.Medium;
+                case Medium ->
+                    rate = Binding.SyncRate.Low;
+                default -> {
+                    return rate;
+                }
+            }
+            steps--;
+        }
+        return rate;
+    }
+
+    private static int cost(List<Entry> list) {
+        int cost = 0;
+        for (Entry entry : list) {
+            cost += cost(entry.rate);
+        }
+        return cost;
+    }
+
+    // approximate requests per second of the rates polled by bindings
+    private static int cost(Binding.SyncRate rate) {
+        return switch (rate) {
+            case High ->
+                20;
+            case Medium ->
+                5;
+            case Low ->
+                1;
+            default ->
+                0;
+        };
+    }
+
+    private static final class Turns {
+
+        private int rotation;
+
+        // entries are at the lowest rate, so each costs one request per second
+        private int share(List<Entry> list, int available) {
+            int size = list.size();
+            if (size == 0) {
+                return 0;
+            }
+            int start = rotation % size;
+            for (int i = available; i < size; i++) {
+                list.get((start + i) % size).rate = Binding.SyncRate.None;
+            }
+            rotation = start + Math.max(1, available);
+            return Math.min(available, size);
+        }
+
+    }
+
+    // one of adaptor or syncer is set
+    private static final class Entry {
+
+        private final Binding.Adaptor adaptor;
+        private final Syncer syncer;
+
+        private Binding.SyncRate requested;
+        private Priority priority;
+        private Binding.SyncRate rate;
+        private Binding.SyncRate applied;
+
+        private Entry(Binding.Adaptor adaptor, Syncer syncer, Binding.SyncRate requested) {
+            this.adaptor = adaptor;
+            this.syncer = syncer;
+            this.requested = requested;
+            this.rate = requested;
+        }
+
+        private boolean isActive() {
+            return adaptor != null ? adaptor.isActive() : syncer.isActive();
+        }
+
+        private void apply(Binding.SyncRate rate) {
+            if (adaptor != null) {
+                if (adaptor.getSyncRate() != rate) {
+                    adaptor.setSyncRate(rate);
+                }
+            } else if (applied != rate) {
+                applied = rate;
+                syncer.setSyncRate(rate);
+            }
+        }
+
+    }
+
+}
@@ -45,4 +45,18 @@ public interface Syncable {
      */
     public void removeKey(Object key);
 
+    /**
+     * Mark whether the data synced for a previously added key is currently
+     * visible to the user, for example in a showing editor. Keys are visible
+     * when added. Data only synced for hidden keys may be synced less often.
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @param key unique key
+     * @param visible whether visible
+     */
+    public default void setKeyVisible(Object key, boolean visible) {
+        // no op
+    }
+
 }
@@ -46,7 +46,9 @@ public abstract class ValuePropertyAdaptor extends Binding.Adaptor {
      * @param source source of events (may be null to use the adaptor itself)
      * @param property name of property for events
      * @param alwaysActive whether to sync even without listeners
-     * @param rate sync rate
+     * @param rate initial sync rate - once bound through a helper component,
+     * taken as the requested rate, and further changes should be made with
+     * {@link AbstractHelperComponent#requestSyncRate(org.praxislive.base.Binding.Adaptor, org.praxislive.base.Binding.SyncRate)}
      */
     public ValuePropertyAdaptor(Object source, String property,
             boolean alwaysActive, Binding.SyncRate rate) {
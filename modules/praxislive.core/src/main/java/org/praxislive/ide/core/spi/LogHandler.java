@@ -28,7 +28,8 @@ import org.praxislive.core.ComponentAddress;
 import org.praxislive.core.services.LogLevel;
 
 /**
- *
+ * Handler of log entries passed to the IDE log service. Handlers are called on
+ * a single background thread, and not on the Swing event thread.
  */
 @Deprecated
 public interface LogHandler {
@@ -42,6 +43,13 @@ public interface LogHandler {
         return LogLevel.ERROR;
     }
 
+    /**
+     * Called after each batch of log entries has been passed to the handler.
+     */
+    public default void flush() {
+        // no op hook
+    }
+
     public default void close() {
         // no op hook
     }
@@ -0,0 +1,215 @@
+package org.praxislive.ide.core.api;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for GraphTasks.
+ */
+public class GraphTasksTest {
+
+    public GraphTasksTest() {
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        runInEDT(() -> {
+            GraphTasks graph = new GraphTasks();
+            assertEquals(Task.State.COMPLETED, graph.execute());
+        });
+    }
+
+    @Test
+    public void testDependencyOrder() {
+        runInEDT(() -> {
+            List<String> order = new ArrayList<>();
+            ManualTask a = new ManualTask("a", order);
+            ManualTask b = new ManualTask("b", order);
+            ManualTask c = new ManualTask("c", order);
+            ManualTask d = new ManualTask("d", order);
+            GraphTasks graph = new GraphTasks()
+                    .add(a)
+                    .add(b)
+                    .add(c, a, b)
+                    .add(d, c);
+            assertEquals(Task.State.RUNNING, graph.execute());
+            assertEquals(List.of("a", "b"), order);
+            a.finish(Task.State.COMPLETED);
+            assertEquals(Task.State.NEW, c.getState());
+            b.finish(Task.State.COMPLETED);
+            assertEquals(Task.State.RUNNING, c.getState());
+            assertEquals(Task.State.NEW, d.getState());
+            c.finish(Task.State.COMPLETED);
+            assertEquals(List.of("a", "b", "c", "d"), order);
+            assertEquals(1, graph.remaining());
+            d.finish(Task.State.COMPLETED);
+            assertEquals(Task.State.COMPLETED, graph.getState());
+            assertEquals(0, graph.remaining());
+            assertEquals(4, graph.durations().size());
+            assertTrue(graph.duration(c).isPresent());
+        });
+    }
+
+    @Test
+    public void testMaxRunning() {
+        runInEDT(() -> {
+            List<String> order = new ArrayList<>();
+            ManualTask a = new ManualTask("a", order);
+            ManualTask b = new ManualTask("b", order);
+            ManualTask c = new ManualTask("c", order);
+            GraphTasks graph = new GraphTasks(2).add(a).add(b).add(c);
+            graph.execute();
+            assertEquals(List.of("a", "b"), order);
+            b.finish(Task.State.COMPLETED);
+            assertEquals(List.of("a", "b", "c"), order);
+            assertTrue(graph.duration(b).isPresent());
+            assertFalse(graph.duration(a).isPresent());
+            a.finish(Task.State.COMPLETED);
+            c.finish(Task.State.COMPLETED);
+            assertEquals(Task.State.COMPLETED, graph.getState());
+        });
+    }
+
+    @Test
+    public void testErrorCancelsGraph() {
+        runInEDT(() -> {
+            List<String> order = new ArrayList<>();
+            ManualTask a = new ManualTask("a", order);
+            ManualTask b = new ManualTask("b", order);
+            ManualTask c = new ManualTask("c", order);
+            GraphTasks graph = new GraphTasks().add(a).add(b).add(c, a);
+            graph.execute();
+            a.finish(Task.State.ERROR);
+            assertEquals(Task.State.CANCELLED, b.getState());
+            assertEquals(Task.State.CANCELLED, c.getState());
+            assertEquals(Task.State.ERROR, graph.getState());
+            assertEquals(List.of("a", "b"), order);
+        });
+    }
+
+    @Test
+    public void testErrorWaitsForUncancellableTask() {
+        runInEDT(() -> {
+            List<String> order = new ArrayList<>();
+            ManualTask a = new ManualTask("a", order);
+            ManualTask b = new ManualTask("b", order, false);
+            GraphTasks graph = new GraphTasks().add(a).add(b);
+            graph.execute();
+            a.finish(Task.State.ERROR);
+            assertEquals(Task.State.RUNNING, graph.getState());
+            b.finish(Task.State.COMPLETED);
+            assertEquals(Task.State.ERROR, graph.getState());
+        });
+    }
+
+    @Test
+    public void testCancelGraph() {
+        runInEDT(() -> {
+            List<String> order = new ArrayList<>();
+            ManualTask a = new ManualTask("a", order);
+            ManualTask b = new ManualTask("b", order);
+            GraphTasks graph = new GraphTasks().add(a).add(b, a);
+            graph.execute();
+            assertTrue(graph.cancel());
+            assertEquals(Task.State.CANCELLED, graph.getState());
+            assertEquals(Task.State.CANCELLED, a.getState());
+            assertEquals(Task.State.CANCELLED, b.getState());
+            assertEquals(List.of("a"), order);
+        });
+    }
+
+    @Test
+    public void testAsyncGraph() throws Exception {
+        CompletableFuture<Task.State> futureState = new CompletableFuture<>();
+        runInEDT(() -> {
+            Task a = new AsyncCompleteTask();
+            Task b = new AsyncCompleteTask();
+            Task c = new AsyncCompleteTask();
+            GraphTasks graph = new GraphTasks().add(a).add(b).add(c, a, b);
+            assertEquals(Task.State.RUNNING, graph.execute());
+            graph.addPropertyChangeListener(ev -> {
+                assertEquals(Task.PROP_STATE, ev.getPropertyName());
+                assertEquals(Task.State.COMPLETED, c.getState());
+                futureState.complete(graph.getState());
+            });
+        });
+        assertEquals(Task.State.COMPLETED, futureState.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownDependency() {
+        new GraphTasks().add(new AsyncCompleteTask(), new AsyncCompleteTask());
+    }
+
+    private void runInEDT(Runnable test) {
+        if (EventQueue.isDispatchThread()) {
+            test.run();
+        } else {
+            try {
+                CompletableFuture.runAsync(test, EventQueue::invokeLater).get();
+            } catch (Exception ex) {
+                if (ex.getCause() instanceof AssertionError aex) {
+                    throw aex;
+                } else {
+                    throw new Error(ex);
+                }
+            }
+        }
+    }
+
+    private static class ManualTask extends AbstractTask {
+
+        private final String id;
+        private final List<String> order;
+        private final boolean cancellable;
+
+        private ManualTask(String id, List<String> order) {
+            this(id, order, true);
+        }
+
+        private ManualTask(String id, List<String> order, boolean cancellable) {
+            this.id = id;
+            this.order = order;
+            this.cancellable = cancellable;
+        }
+
+        @Override
+        protected void handleExecute() throws Exception {
+            order.add(id);
+        }
+
+        @Override
+        protected boolean handleCancel() {
+            return cancellable || getState() == State.NEW;
+        }
+
+        private void finish(State state) {
+            updateState(state);
+        }
+
+    }
+
+    private static class AsyncCompleteTask extends AbstractTask {
+
+        @Override
+        protected void handleExecute() throws Exception {
+            EventQueue.invokeLater(() -> {
+                if (State.RUNNING == getState()) {
+                    updateState(State.COMPLETED);
+                }
+            });
+        }
+
+        @Override
+        protected boolean handleCancel() {
+            return true;
+        }
+
+    }
+
+}
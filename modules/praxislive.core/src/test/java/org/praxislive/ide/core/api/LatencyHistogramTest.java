@@ -0,0 +1,112 @@
+package org.praxislive.ide.core.api;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for LatencyHistogram bucketing and percentile queries.
+ */
+public class LatencyHistogramTest {
+
+    private static final long MAX_MICROS = (1L << 32) - 1;
+
+    public LatencyHistogramTest() {
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.valueAtPercentile(50));
+        assertEquals(0, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        // below eight microseconds every value has its own bucket
+        for (long v = 0; v < 8; v++) {
+            assertEquals(v, lowerOfPair(v, v + 1));
+        }
+        // eight buckets per power of two - 8 to 15 exact
+        assertEquals(15, lowerOfPair(15, 16));
+        // 16 to 31 in buckets of two
+        assertEquals(17, lowerOfPair(16, 17));
+        assertEquals(17, lowerOfPair(17, 18));
+        assertEquals(19, lowerOfPair(18, 19));
+        // 512 to 1023 in buckets of 64
+        assertEquals(1023, lowerOfPair(960, 1023));
+        assertEquals(959, lowerOfPair(959, 960));
+    }
+
+    @Test
+    public void testRelativeError() {
+        for (long v = 8; v < 10_000_000; v = v * 3 / 2 + 1) {
+            long bucketMax = lowerOfPair(v, MAX_MICROS);
+            assertTrue(bucketMax >= v);
+            assertTrue("Error too large for " + v, bucketMax - v <= v / 8);
+        }
+    }
+
+    @Test
+    public void testOverflow() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long huge = TimeUnit.MICROSECONDS.toNanos(1L << 40);
+        histogram.record(huge);
+        histogram.record(huge * 2);
+        assertEquals(2, histogram.count());
+        assertEquals(huge * 2, histogram.max());
+        // clamped into the highest bucket
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(MAX_MICROS),
+                histogram.valueAtPercentile(50));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(MAX_MICROS),
+                histogram.valueAtPercentile(100));
+
+        // negative values are recorded as zero
+        histogram.reset();
+        histogram.record(-1000);
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 100; v++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(v));
+        }
+        assertEquals(100, histogram.count());
+        assertEquals(micros(100), histogram.max());
+        assertEquals(micros(1), histogram.valueAtPercentile(0));
+        assertEquals(micros(1), histogram.valueAtPercentile(1));
+        // 25 falls in the bucket from 24 to 25
+        assertEquals(micros(25), histogram.valueAtPercentile(25));
+        // 50 falls in the bucket from 48 to 51
+        assertEquals(micros(51), histogram.valueAtPercentile(50));
+        // 99 falls in the bucket from 96 to 103, limited by the maximum
+        assertEquals(micros(100), histogram.valueAtPercentile(99));
+        assertEquals(micros(100), histogram.valueAtPercentile(100));
+        // out of range percentiles are clamped
+        assertEquals(micros(1), histogram.valueAtPercentile(-10));
+        assertEquals(micros(100), histogram.valueAtPercentile(200));
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.valueAtPercentile(50));
+    }
+
+    // record two values and return the highest value of the bucket of the
+    // lower one, in microseconds
+    private static long lowerOfPair(long lowMicros, long highMicros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(micros(lowMicros));
+        histogram.record(micros(highMicros));
+        return TimeUnit.NANOSECONDS.toMicros(histogram.valueAtPercentile(50));
+    }
+
+    private static long micros(long micros) {
+        return TimeUnit.MICROSECONDS.toNanos(micros);
+    }
+
+}
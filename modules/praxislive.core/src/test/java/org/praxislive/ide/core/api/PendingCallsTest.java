@@ -0,0 +1,129 @@
+package org.praxislive.ide.core.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.types.PError;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for PendingCalls - expiry of calls on the timer wheel, counting of
+ * late replies, and failing all pending calls.
+ */
+public class PendingCallsTest {
+
+    private static final ControlAddress TO = ControlAddress.of("/root/component.control");
+    private static final long START = 1_000_000_000_000L;
+
+    public PendingCallsTest() {
+    }
+
+    @Test
+    public void testExpiry() {
+        PendingCalls calls = new PendingCalls();
+        List<Callback.Result> results = new ArrayList<>();
+        calls.add(1, TO, Callback.create(results::add), Duration.ofSeconds(1), START);
+        calls.add(2, TO, Callback.create(results::add), Duration.ofSeconds(30), START);
+        calls.add(3, TO, Callback.create(results::add), Duration.ZERO, START);
+        assertTrue(calls.isActive());
+        assertEquals(3, calls.size());
+
+        assertTrue(calls.expire(START + millis(500)).isEmpty());
+        List<PendingCalls.Entry> expired = calls.expire(START + millis(1200));
+        assertEquals(1, expired.size());
+        assertEquals(1, expired.get(0).matchID);
+        assertEquals(2, calls.size());
+        assertEquals(1, calls.timedOutCount());
+
+        // longer than one turn of the wheel, in small and large steps
+        for (long t = 1300; t < 30_000; t += 700) {
+            assertTrue(calls.expire(START + millis(t)).isEmpty());
+        }
+        expired = calls.expire(START + millis(45_000));
+        assertEquals(1, expired.size());
+        assertEquals(2, expired.get(0).matchID);
+        assertEquals(2, calls.timedOutCount());
+
+        // call without timeout remains, but no expiry is required
+        assertEquals(1, calls.size());
+        assertFalse(calls.isActive());
+        assertTrue(calls.expire(START + millis(3_600_000)).isEmpty());
+        assertNotNull(calls.complete(3));
+
+        // expiry only returns calls - the caller completes callbacks
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    public void testCompleteBeforeExpiry() {
+        PendingCalls calls = new PendingCalls();
+        calls.add(1, TO, Callback.create(r -> {
+        }), Duration.ofSeconds(1), START);
+        PendingCalls.Entry entry = calls.complete(1);
+        assertNotNull(entry);
+        assertEquals(TO, entry.to);
+        assertEquals(0, calls.size());
+        assertTrue(calls.expire(START + millis(2000)).isEmpty());
+        assertFalse(calls.isActive());
+        assertEquals(0, calls.timedOutCount());
+        assertEquals(0, calls.lateReplyCount());
+    }
+
+    @Test
+    public void testLateReplies() {
+        PendingCalls calls = new PendingCalls();
+        calls.add(1, TO, Callback.create(r -> {
+        }), Duration.ofSeconds(1), START);
+        calls.expire(START + millis(1500));
+
+        assertNull(calls.complete(1));
+        assertEquals(1, calls.lateReplyCount());
+        // a duplicate reply, or a reply to an unknown call, is not counted
+        assertNull(calls.complete(1));
+        assertNull(calls.complete(99));
+        assertEquals(1, calls.lateReplyCount());
+
+        // only the most recent expired IDs are remembered
+        for (int i = 0; i <= PendingCalls.MAX_EXPIRED_IDS; i++) {
+            calls.add(100 + i, TO, Callback.create(r -> {
+            }), Duration.ofSeconds(1), START);
+        }
+        calls.expire(START + millis(5000));
+        assertNull(calls.complete(100));
+        assertEquals(1, calls.lateReplyCount());
+        assertNull(calls.complete(101));
+        assertEquals(2, calls.lateReplyCount());
+    }
+
+    @Test
+    public void testFailAll() {
+        PendingCalls calls = new PendingCalls();
+        List<Callback.Result> results = new ArrayList<>();
+        calls.add(1, TO, Callback.create(results::add), Duration.ofSeconds(1), START);
+        calls.add(2, TO, Callback.create(results::add), Duration.ZERO, START);
+        PError error = PError.of(new HubUnavailableException());
+
+        assertEquals(2, calls.failAll(error));
+        assertEquals(2, results.size());
+        for (Callback.Result result : results) {
+            assertTrue(result.isError());
+            assertEquals(error, result.args().get(0));
+        }
+        assertEquals(0, calls.size());
+        assertFalse(calls.isActive());
+
+        // failed calls are not timed out, and replies are not late
+        assertTrue(calls.expire(START + millis(2000)).isEmpty());
+        assertNull(calls.complete(1));
+        assertEquals(0, calls.timedOutCount());
+        assertEquals(0, calls.lateReplyCount());
+        assertEquals(0, calls.failAll(error));
+    }
+
+    private static long millis(long ms) {
+        return Duration.ofMillis(ms).toNanos();
+    }
+
+}
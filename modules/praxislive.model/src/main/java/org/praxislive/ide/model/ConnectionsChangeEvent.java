@@ -0,0 +1,77 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.model;
+
+import java.beans.PropertyChangeEvent;
+import java.util.Set;
+import org.praxislive.core.Connection;
+
+/**
+ * A property change event for {@link ContainerProxy#CONNECTIONS} that reports
+ * the connections added and removed by the change. Containers may fire this
+ * event in place of a plain property change event, allowing listeners to
+ * apply the change incrementally rather than compare the full list of
+ * connections.
+ */
+public final class ConnectionsChangeEvent extends PropertyChangeEvent {
+
+    private final Set<Connection> added;
+    private final Set<Connection> removed;
+
+    /**
+     * Create a connections change event.
+     *
+     * @param source container the connections belong to
+     * @param added connections added
+     * @param removed connections removed
+     */
+    public ConnectionsChangeEvent(ContainerProxy source,
+            Set<Connection> added, Set<Connection> removed) {
+        super(source, ContainerProxy.CONNECTIONS, null, null);
+        this.added = Set.copyOf(added);
+        this.removed = Set.copyOf(removed);
+    }
+
+    @Override
+    public ContainerProxy getSource() {
+        return (ContainerProxy) super.getSource();
+    }
+
+    /**
+     * Connections added by this change. The set is immutable.
+     *
+     * @return added connections
+     */
+    public Set<Connection> added() {
+        return added;
+    }
+
+    /**
+     * Connections removed by this change. The set is immutable.
+     *
+     * @return removed connections
+     */
+    public Set<Connection> removed() {
+        return removed;
+    }
+
+}
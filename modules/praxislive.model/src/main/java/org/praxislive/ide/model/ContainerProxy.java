@@ -39,7 +39,8 @@ public interface ContainerProxy extends ComponentProxy {
     public static final String CHILDREN = ContainerProtocol.CHILDREN;
 
     /**
-     * Name of connections property. Used in property change events.
+     * Name of connections property. Used in property change events. Events
+     * may be instances of {@link ConnectionsChangeEvent}.
      */
     public static final String CONNECTIONS = ContainerProtocol.CONNECTIONS;
 
@@ -103,6 +104,19 @@ public interface ContainerProxy extends ComponentProxy {
      */
     public Stream<Connection> connections();
 
+    /**
+     * Stream of connections to or from the child with the provided ID. The
+     * default implementation filters {@link #connections()}. Implementations
+     * may override to provide a more efficient lookup.
+     *
+     * @param childID child ID
+     * @return connections of child
+     */
+    public default Stream<Connection> connections(String childID) {
+        return connections().filter(c -> c.sourceComponent().equals(childID)
+                || c.targetComponent().equals(childID));
+    }
+
     /**
      * List of supported child types.
      *
@@ -21,6 +21,7 @@
  */
 package org.praxislive.ide.project;
 
+import java.time.Duration;
 import org.praxislive.ide.core.api.Callback;
 import org.praxislive.ide.project.api.ExecutionLevel;
 import org.praxislive.ide.project.spi.FileHandler;
@@ -48,7 +49,8 @@ class DefaultFileHandler implements FileHandler {
     public void process(Callback callback) throws Exception {
         String script = file.asText();
         script = "set _PWD " + project.getProjectDirectory().toURI() + "\n" + script;
-        project.getLookup().lookup(ProjectHelper.class).execScript(script, callback);
+        project.getLookup().lookup(ProjectHelper.class).execScript(script, callback,
+                Duration.ZERO);
     }
 
 }
@@ -21,6 +21,7 @@
  */
 package org.praxislive.ide.project;
 
+import java.time.Duration;
 import org.praxislive.ide.core.api.Callback;
 import org.praxislive.ide.project.api.ExecutionElement;
 import org.praxislive.ide.project.api.ExecutionLevel;
@@ -46,7 +47,8 @@ class DefaultLineHandler implements LineHandler {
     @Override
     public void process(Callback callback) throws Exception {
         var script = "set _PWD " + project.getProjectDirectory().toURI() + "\n" + line;
-        project.getLookup().lookup(ProjectHelper.class).execScript(script, callback);
+        project.getLookup().lookup(ProjectHelper.class).execScript(script, callback,
+                Duration.ZERO);
     }
 
 }
@@ -39,6 +39,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.prefs.Preferences;
 import java.util.stream.Collectors;
 import javax.lang.model.SourceVersion;
@@ -75,7 +77,7 @@ import org.praxislive.core.Value;
 import org.praxislive.core.types.PArray;
 import org.praxislive.core.types.PResource;
 import org.praxislive.ide.core.api.AbstractTask;
-import org.praxislive.ide.core.api.SerialTasks;
+import org.praxislive.ide.core.api.GraphTasks;
 import org.praxislive.ide.core.api.Task;
 import org.praxislive.ide.project.api.ExecutionElement;
 import org.praxislive.ide.project.spi.ElementHandler;
@@ -106,6 +108,7 @@ public final class DefaultPraxisProject implements PraxisProject {
         MAX_JAVA_VERSION = max < MIN_JAVA_VERSION ? MIN_JAVA_VERSION : max;
     }
 
+    private final static Logger LOG = Logger.getLogger(DefaultPraxisProject.class.getName());
     private final static RequestProcessor RP = new RequestProcessor(PraxisProject.class);
     private final static LinkedHashSet<DefaultPraxisProject> REGISTRY
             = new LinkedHashSet<>();
@@ -238,34 +241,57 @@ public final class DefaultPraxisProject implements PraxisProject {
             return;
         }
 
-        List<Task> tasks = new ArrayList<>();
+        TaskExec exec = new TaskExec();
+        List<Task> previous = List.of();
 
         if (!isActive()) {
             executedHandlers.clear();
-            tasks.add(hubManager.createStartupTask());
+            previous = exec.addSerial(previous, hubManager.createStartupTask());
         }
 
         var elements = properties.elements();
-        elements.get(ExecutionLevel.CONFIGURE).forEach(e -> {
+        for (var e : elements.get(ExecutionLevel.CONFIGURE)) {
             if (!executedHandlers.contains(e.handler())) {
-                tasks.add(new ElementTask(ExecutionLevel.CONFIGURE, e));
+                previous = exec.addSerial(previous,
+                        new ElementTask(ExecutionLevel.CONFIGURE, e));
             }
-        });
+        }
         if (level == ExecutionLevel.BUILD || level == ExecutionLevel.RUN) {
-            elements.get(ExecutionLevel.BUILD).forEach(e -> {
-                if (!executedHandlers.contains(e.handler())) {
-                    tasks.add(new ElementTask(ExecutionLevel.BUILD, e));
+            // files between lines are independent, and are built concurrently
+            List<Task> group = new ArrayList<>();
+            for (var e : elements.get(ExecutionLevel.BUILD)) {
+                if (executedHandlers.contains(e.handler())) {
+                    continue;
                 }
-            });
+                ElementTask task = new ElementTask(ExecutionLevel.BUILD, e);
+                if (e.element() instanceof ExecutionElement.File) {
+                    prepare(e.handler());
+                    exec.add(task, previous);
+                    group.add(task);
+                } else {
+                    List<Task> deps = new ArrayList<>(previous);
+                    deps.addAll(group);
+                    group.clear();
+                    previous = exec.addSerial(deps, task);
+                }
+            }
+            if (!group.isEmpty()) {
+                group.addAll(previous);
+                previous = group;
+            }
         }
         if (level == ExecutionLevel.RUN) {
-            elements.get(ExecutionLevel.RUN).forEach(e -> {
-                tasks.add(new ElementTask(ExecutionLevel.RUN, e));
-            });
+            for (var e : elements.get(ExecutionLevel.RUN)) {
+                if (e.element() instanceof ExecutionElement.File) {
+                    prepare(e.handler());
+                }
+                previous = exec.addSerial(previous,
+                        new ElementTask(ExecutionLevel.RUN, e));
+            }
         }
 
         actionsEnabled = false;
-        activeExec = new TaskExec(tasks);
+        activeExec = exec;
         var execState = activeExec.execute();
         if (execState == Task.State.RUNNING) {
             activeExec.addPropertyChangeListener(e -> {
@@ -289,8 +315,9 @@ public final class DefaultPraxisProject implements PraxisProject {
         if (activeExec != null) {
             activeExec.cancel();
         }
-        List<Task> tasks = List.of(hubManager.createShutdownTask());
-        activeExec = new TaskExec(tasks);
+        TaskExec exec = new TaskExec();
+        exec.addSerial(List.of(), hubManager.createShutdownTask());
+        activeExec = exec;
         actionsEnabled = false;
         var execState = activeExec.execute();
         if (execState == Task.State.RUNNING) {
@@ -308,9 +335,13 @@ public final class DefaultPraxisProject implements PraxisProject {
     }
 
     void updateLibs(PArray newLibs, PArray newLibsPath) {
-        clearLibs();
         properties.updateLibraries(newLibs);
-        libPath = List.copyOf(buildLibList(newLibsPath));
+        List<URI> newPath = List.copyOf(buildLibList(newLibsPath));
+        if (newPath.equals(libPath)) {
+            return;
+        }
+        clearLibs();
+        libPath = newPath;
         libsCP = buildLibsClasspath(libPath);
         if (libsCP != null) {
             compileCP = ClassPathSupport.createProxyClassPath(libsCP,
@@ -508,18 +539,38 @@ public final class DefaultPraxisProject implements PraxisProject {
         }
     }
 
-    private class TaskExec extends SerialTasks {
+    private void prepare(ElementHandler handler) {
+        try {
+            handler.prepare();
+        } catch (Exception ex) {
+            // handler will report any error when processed
+            LOG.log(Level.FINE, "Error preparing handler", ex);
+        }
+    }
+
+    private class TaskExec extends GraphTasks {
 
         private final Map<Task, List<String>> warnings;
         private final ProgressHandle progress;
-        private final int count;
 
-        private TaskExec(List<Task> tasks) {
-            super(tasks);
+        private int count;
+
+        private TaskExec() {
             warnings = new LinkedHashMap<>();
             progress = ProgressHandle.createHandle("Executing...", this);
             progress.setInitialDelay(0);
-            count = tasks.size();
+        }
+
+        private List<Task> addSerial(List<Task> previous, Task task) {
+            add(task, previous);
+            return List.of(task);
+        }
+
+        @Override
+        public GraphTasks add(Task task, List<Task> dependencies) {
+            super.add(task, dependencies);
+            count++;
+            return this;
         }
 
         @Override
@@ -540,6 +591,11 @@ public final class DefaultPraxisProject implements PraxisProject {
             if (!log.isEmpty()) {
                 warnings.put(task, List.copyOf(log));
             }
+            if (task instanceof ElementTask && LOG.isLoggable(Level.FINE)) {
+                task.description().ifPresent(d -> duration(task).ifPresent(time
+                        -> LOG.log(Level.FINE, "Executed {0} in {1} ms",
+                                new Object[]{d, time.toMillis()})));
+            }
         }
 
         @Override
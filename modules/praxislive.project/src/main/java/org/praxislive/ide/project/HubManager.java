@@ -53,6 +53,7 @@ import org.praxislive.ide.core.api.AbstractTask;
 import org.praxislive.ide.core.api.ExtensionContainer;
 import org.praxislive.ide.project.spi.RootLifecycleHandler;
 import org.praxislive.ide.core.api.SerialTasks;
+import org.praxislive.ide.core.api.SyncScheduler;
 
 /**
  *
@@ -74,6 +75,7 @@ class HubManager {
     private Hub hub;
     private ExtensionContainer container;
     private State state;
+    private SyncScheduler syncScheduler;
     private ServicesOverride servicesOverride;
 
     HubManager(DefaultPraxisProject project) {
@@ -131,6 +133,8 @@ class HubManager {
                 .build();
 
         var fakeMain = new FakeMain();
+        syncScheduler = new SyncScheduler();
+        lookupContent.add(syncScheduler);
 
         hub = Hub.builder()
                 .setCoreRootFactory(core)
@@ -139,6 +143,7 @@ class HubManager {
                 .addExtension(container)
                 .extendLookup(logLevel)
                 .extendLookup(fakeMain)
+                .extendLookup(syncScheduler)
                 .build();
         hub.start();
     }
@@ -151,8 +156,10 @@ class HubManager {
         } catch (Exception ex) {
             Exceptions.printStackTrace(ex);
         }
+        lookupContent.remove(syncScheduler);
         container = null;
         servicesOverride = null;
+        syncScheduler = null;
         hub = null;
     }
 
@@ -25,9 +25,11 @@ import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
@@ -52,6 +54,7 @@ import org.praxislive.core.Info;
 import org.praxislive.core.Value;
 import org.praxislive.core.services.RootManagerService;
 import org.praxislive.core.types.PArray;
+import org.praxislive.ide.core.api.SyncScheduler;
 import org.praxislive.ide.core.api.ValuePropertyAdaptor;
 import org.praxislive.ide.model.HubProxy;
 import org.praxislive.ide.model.RootProxy;
@@ -63,6 +66,10 @@ import org.praxislive.ide.properties.PraxisProperty;
  */
 class HubProxyImpl implements HubProxy {
 
+    private static final int LIBS_TRIGGER_DELAY = 50;
+    private static final int LIBS_MIN_DELAY = 1000;
+    private static final int LIBS_MAX_DELAY = 60_000;
+
     private final DefaultPraxisProject project;
     private final ValuePropertyAdaptor.ReadOnly rootsAdaptor;
     private final RootsChildren rootsChildren;
@@ -75,6 +82,9 @@ class HubProxyImpl implements HubProxy {
     private boolean ignoreChanges;
     private PArray libs;
     private Timer libsTimer;
+    private int libsDelay;
+    private boolean libsChecking;
+    private boolean libsRecheck;
 
     HubProxyImpl(DefaultPraxisProject project) {
         this.project = project;
@@ -120,39 +130,26 @@ class HubProxyImpl implements HubProxy {
     }
 
     void start() {
+        project.getLookup().lookupAll(RootRegistry.class).forEach(r -> {
+            if (rootRegistries.add(r)) {
+                r.addPropertyChangeListener(regListener);
+            }
+        });
         var helper = project.getLookup().lookup(ProjectHelper.class);
         try {
             var address = ControlAddress.of(
                     helper.findService(RootManagerService.class),
                     RootManagerService.ROOTS);
-            helper.bind(address, rootsAdaptor);
+            helper.bind(address, rootsAdaptor, SyncScheduler.Priority.BACKGROUND);
         } catch (Exception ex) {
             Exceptions.printStackTrace(ex);
         }
-        libsTimer = new Timer(10, e -> {
-            helper.execScript("libraries")
-                    .thenCompose(libArgs -> {
-                        PArray newLibs = PArray.from(libArgs.get(0))
-                                .orElse(PArray.EMPTY);
-                        if (!Objects.equals(libs, newLibs)) {
-                            libs = newLibs;
-                            return helper.execScript("libraries-path")
-                                    .thenAccept(pathArgs -> {
-                                        PArray newPath = PArray.from(pathArgs.get(0)).orElse(PArray.EMPTY);
-                                        project.updateLibs(newLibs, newPath);
-                                    });
-
-                        }
-                        return CompletableFuture.completedStage(null);
-                    });
-        });
-        libsTimer.setDelay(1000);
-        libsTimer.start();
-        project.getLookup().lookupAll(RootRegistry.class).forEach(r -> {
-            if (rootRegistries.add(r)) {
-                r.addPropertyChangeListener(regListener);
-            }
-        });
+        libsTimer = new Timer(LIBS_MIN_DELAY, e -> checkLibraries());
+        libsTimer.setRepeats(false);
+        libsDelay = LIBS_MIN_DELAY;
+        libsChecking = false;
+        libsRecheck = false;
+        requestLibrariesCheck();
         ignoreChanges = false;
     }
 
@@ -189,30 +186,111 @@ class HubProxyImpl implements HubProxy {
         ignoreChanges = false;
     }
 
+    /**
+     * Request a check of the hub libraries as soon as possible, for example
+     * after running a script that may have added libraries. Between requests,
+     * libraries are checked with an increasing delay while they are
+     * unchanged.
+     */
+    void requestLibrariesCheck() {
+        if (libsTimer == null) {
+            return;
+        }
+        libsDelay = LIBS_MIN_DELAY;
+        if (libsChecking) {
+            libsRecheck = true;
+        } else {
+            libsTimer.setInitialDelay(LIBS_TRIGGER_DELAY);
+            libsTimer.restart();
+        }
+    }
+
+    private void checkLibraries() {
+        var helper = project.getLookup().lookup(ProjectHelper.class);
+        if (helper == null || libsTimer == null) {
+            return;
+        }
+        libsChecking = true;
+        libsRecheck = false;
+        helper.execScript("libraries")
+                .thenCompose(libArgs -> {
+                    PArray newLibs = PArray.from(libArgs.get(0))
+                            .orElse(PArray.EMPTY);
+                    if (!Objects.equals(libs, newLibs)) {
+                        libs = newLibs;
+                        return helper.execScript("libraries-path")
+                                .thenApply(pathArgs -> {
+                                    PArray newPath = PArray.from(pathArgs.get(0)).orElse(PArray.EMPTY);
+                                    project.updateLibs(newLibs, newPath);
+                                    return true;
+                                });
+
+                    }
+                    return CompletableFuture.completedStage(false);
+                })
+                .whenComplete((changed, ex) -> {
+                    libsChecking = false;
+                    if (libsTimer == null) {
+                        return;
+                    }
+                    if (libsRecheck) {
+                        libsTimer.setInitialDelay(LIBS_TRIGGER_DELAY);
+                    } else if (Boolean.TRUE.equals(changed)) {
+                        libsDelay = LIBS_MIN_DELAY;
+                        libsTimer.setInitialDelay(libsDelay);
+                    } else {
+                        libsDelay = Math.min(libsDelay * 2, LIBS_MAX_DELAY);
+                        libsTimer.setInitialDelay(libsDelay);
+                    }
+                    libsTimer.restart();
+                });
+    }
+
     private void refreshRoots() {
         if (ignoreChanges) {
             return;
         }
         ignoreChanges = true;
-        List<String> rts = PArray.from(rootsAdaptor.getValue()).orElse(PArray.EMPTY)
+        Set<String> rts = PArray.from(rootsAdaptor.getValue()).orElse(PArray.EMPTY)
                 .stream()
                 .map(Value::toString)
-                .collect(Collectors.toList());
-        roots.forEach((id, proxy) -> {
-            if (!rts.contains(id)) {
-                if (proxy instanceof AutoCloseable) {
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        boolean changed = false;
+        var itr = roots.entrySet().iterator();
+        while (itr.hasNext()) {
+            var entry = itr.next();
+            if (!rts.contains(entry.getKey())) {
+                if (entry.getValue() instanceof AutoCloseable closeable) {
                     try {
-                        ((AutoCloseable) proxy).close();
+                        closeable.close();
                     } catch (Exception ex) {
                         Exceptions.printStackTrace(ex);
                     }
                 }
+                itr.remove();
+                changed = true;
             }
-        });
-        roots.keySet().retainAll(rts);
-        rts.forEach(r -> roots.compute(r, this::findRootProxy));
-        rootsChildren.refreshRoots();
-        pcs.firePropertyChange(ROOTS, null, null);
+        }
+        for (String id : rts) {
+            // also re-resolve known roots - a root removed and added again
+            // between syncs is reported by its registry as a new instance
+            RootProxy existing = roots.get(id);
+            RootProxy proxy = findRootProxy(id, existing);
+            if (proxy != existing) {
+                roots.put(id, proxy);
+                changed = true;
+            }
+        }
+        if (changed || !List.copyOf(roots.keySet()).equals(List.copyOf(rts))) {
+            // match order of roots in hub
+            Map<String, RootProxy> ordered = new LinkedHashMap<>(roots);
+            roots.clear();
+            rts.forEach(id -> roots.put(id, ordered.get(id)));
+            rootsChildren.refreshRoots();
+            pcs.firePropertyChange(ROOTS, null, null);
+            // building roots may have added libraries
+            requestLibrariesCheck();
+        }
         ignoreChanges = false;
     }
 
@@ -228,8 +306,7 @@ class HubProxyImpl implements HubProxy {
     }
 
     private RootProxy findRootProxy(String id, RootProxy existing) {
-        var proxy = project.getLookup().lookupAll(RootRegistry.class)
-                .stream()
+        var proxy = rootRegistries.stream()
                 .flatMap(reg -> reg.find(id).stream())
                 .findFirst()
                 .orElseGet(() -> existing instanceof FallbackRootProxy
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashSet;
@@ -315,7 +316,7 @@ public class ProjectPropertiesImpl implements ProjectProperties {
                                 ProjectDialogManager.get(project)
                                         .reportError(msg);
                             }
-                        }));
+                        }), Duration.ZERO);
                     }
                 }
             } catch (Exception ex) {
@@ -412,7 +413,7 @@ public class ProjectPropertiesImpl implements ProjectProperties {
         public void process(Callback callback) throws Exception {
             project.getLookup().lookup(ProjectHelper.class)
                     .execScript("hub {\n" + hubConfiguration + "\n}",
-                            callback);
+                            callback, Duration.ZERO);
         }
 
         @Override
@@ -457,7 +458,8 @@ public class ProjectPropertiesImpl implements ProjectProperties {
         @Override
         public void process(Callback callback) throws Exception {
             String script = compilerScript(getJavaRelease());
-            project.getLookup().lookup(ProjectHelper.class).execScript(script, callback);
+            project.getLookup().lookup(ProjectHelper.class).execScript(script, callback,
+                    Duration.ZERO);
         }
 
         @Override
@@ -508,7 +510,18 @@ public class ProjectPropertiesImpl implements ProjectProperties {
         public void process(Callback callback) throws Exception {
             String script = "cd " + project.getProjectDirectory().toURI()
                     + "\n" + librariesScript(libraries);
-            project.getLookup().lookup(ProjectHelper.class).execScript(script, callback);
+            project.getLookup().lookup(ProjectHelper.class).execScript(script,
+                    Callback.create(result -> {
+                        var hub = project.getLookup().lookup(HubProxyImpl.class);
+                        if (hub != null) {
+                            hub.requestLibrariesCheck();
+                        }
+                        if (result.isError()) {
+                            callback.onError(result.args());
+                        } else {
+                            callback.onReturn(result.args());
+                        }
+                    }), Duration.ZERO);
         }
 
         @Override
@@ -0,0 +1,134 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.project.sessionlog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openide.filesystems.FileUtil;
+import org.openide.modules.Places;
+import org.praxislive.core.services.LogLevel;
+import org.praxislive.ide.project.api.PraxisProject;
+
+/**
+ * Constants and utilities shared by the writer and reader of the binary
+ * session log.
+ * <p>
+ * A session log is a set of segment files of fixed size, written through a
+ * memory mapping. Each segment starts with a header of magic number, version
+ * and creation time, followed by records. Each record starts with a type byte,
+ * written last so that a partially written record is never visible to a
+ * reader. A zero type marks the end of written records. Source addresses are
+ * written once per segment as source records, and referred to by ID in entry
+ * records.
+ */
+public final class SessionLog {
+
+    static final int MAGIC = 0x50584C47;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+    static final int MAX_SEGMENTS = 16;
+    static final int MAX_MESSAGE = 64 * 1024;
+
+    static final byte TYPE_END = 0;
+    static final byte TYPE_SOURCE = 1;
+    static final byte TYPE_ENTRY = 2;
+
+    // type, id, length
+    static final int SOURCE_OVERHEAD = 1 + 4 + 2;
+    // type, time, level, source id, length
+    static final int ENTRY_OVERHEAD = 1 + 8 + 1 + 4 + 4;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".plog";
+
+    private static final LogLevel[] LEVELS = {
+        LogLevel.ERROR, LogLevel.WARNING, LogLevel.INFO, LogLevel.DEBUG
+    };
+
+    private SessionLog() {
+    }
+
+    /**
+     * Find the directory that holds the session log segments of the provided
+     * project. The directory is in the user cache, and may not exist.
+     *
+     * @param project project
+     * @return session log directory
+     */
+    public static Path directory(PraxisProject project) {
+        File dir = FileUtil.toFile(project.getProjectDirectory());
+        String path = dir == null ? project.getProjectDirectory().getPath()
+                : dir.getAbsolutePath();
+        String name = project.getProjectDirectory().getNameExt()
+                .replaceAll("[^A-Za-z0-9_\\-]", "_");
+        return Places.getCacheSubdirectory("session-logs").toPath()
+                .resolve(name + "-" + Integer.toHexString(path.hashCode()));
+    }
+
+    static byte encode(LogLevel level) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i] == level) {
+                return (byte) i;
+            }
+        }
+        return 0;
+    }
+
+    static LogLevel decode(byte level) {
+        return level >= 0 && level < LEVELS.length ? LEVELS[level] : LogLevel.ERROR;
+    }
+
+    static Path segmentFile(Path dir, long index) {
+        return dir.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                    name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> segmentIndex(f) >= 0)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.project.sessionlog;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.util.Lookup;
+import org.openide.util.lookup.ServiceProvider;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.Value;
+import org.praxislive.core.services.LogLevel;
+import org.praxislive.ide.core.spi.LogHandler;
+import org.praxislive.ide.project.api.PraxisProject;
+
+/**
+ * Log handler writing the entries of a project to its binary session log.
+ * Entries are written at {@link LogLevel#WARNING} and above by default, which
+ * may be changed with the {@code praxislive.sessionlog.level} system property.
+ * Errors are also passed to the IDE log, as they would be without any log
+ * handler installed.
+ */
+@SuppressWarnings("deprecation")
+class SessionLogHandler implements LogHandler {
+
+    private static final Logger LOG = Logger.getLogger(SessionLogHandler.class.getName());
+    private static final LogLevel LEVEL = level(
+            System.getProperty("praxislive.sessionlog.level"), LogLevel.WARNING);
+
+    private final PraxisProject project;
+
+    private SessionLogWriter writer;
+    private boolean failed;
+
+    private SessionLogHandler(PraxisProject project) {
+        this.project = project;
+    }
+
+    @Override
+    public void log(ComponentAddress source, long time, LogLevel level, Value message) {
+        if (level == LogLevel.ERROR) {
+            LOG.log(Level.SEVERE, "{0} : {1} : {2}", new Object[]{level, source, message});
+        }
+        if (failed) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                writer = new SessionLogWriter(SessionLog.directory(project));
+            }
+            writer.write(System.currentTimeMillis(), level,
+                    source == null ? "" : source.toString(), message.toString());
+        } catch (IOException | RuntimeException ex) {
+            LOG.log(Level.WARNING, "Unable to write session log, disabling", ex);
+            failed = true;
+            close();
+        }
+    }
+
+    @Override
+    public LogLevel getLevel() {
+        return LEVEL;
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    static LogLevel level(String name, LogLevel fallback) {
+        if (name == null || name.isBlank()) {
+            return fallback;
+        }
+        try {
+            return LogLevel.valueOf(name.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            LOG.log(Level.WARNING, "Unknown session log level {0}", name);
+            return fallback;
+        }
+    }
+
+    @ServiceProvider(service = LogHandler.Provider.class)
+    public static class Provider implements LogHandler.Provider {
+
+        @Override
+        public Optional<LogHandler> createLogHandler(Lookup context) {
+            PraxisProject project = context.lookup(PraxisProject.class);
+            if (project != null) {
+                return Optional.of(new SessionLogHandler(project));
+            } else {
+                return Optional.empty();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,339 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.project.sessionlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.praxislive.core.services.LogLevel;
+import org.praxislive.ide.project.api.PraxisProject;
+
+/**
+ * Read-only index of the session log of a project. Segment files are memory
+ * mapped, and only the position, level and source of each entry are held on
+ * the heap, allowing large logs to be filtered quickly. Messages are read from
+ * the mapping on demand.
+ * <p>
+ * The index may be refreshed to pick up entries written since it was last
+ * scanned. Methods are thread safe.
+ */
+public final class SessionLogIndex {
+
+    private final Path dir;
+    private final List<Segment> segments;
+    private final List<String> sources;
+    private final Map<String, Integer> sourceIDs;
+
+    private SessionLogIndex(Path dir) {
+        this.dir = dir;
+        this.segments = new ArrayList<>();
+        this.sources = new ArrayList<>();
+        this.sourceIDs = new HashMap<>();
+    }
+
+    /**
+     * Create an index of the session log of the provided project. The index
+     * is empty until refreshed.
+     *
+     * @param project project
+     * @return session log index
+     */
+    public static SessionLogIndex of(PraxisProject project) {
+        return of(SessionLog.directory(project));
+    }
+
+    static SessionLogIndex of(Path dir) {
+        return new SessionLogIndex(dir);
+    }
+
+    /**
+     * Scan for new segments and entries.
+     *
+     * @throws IOException if segments cannot be listed or mapped
+     */
+    public synchronized void refresh() throws IOException {
+        List<Path> files = SessionLog.segments(dir);
+        segments.removeIf(segment -> !files.contains(segment.file));
+        for (Path file : files) {
+            if (segments.stream().noneMatch(segment -> segment.file.equals(file))) {
+                Segment segment = Segment.open(file);
+                if (segment != null) {
+                    segments.add(segment);
+                }
+            }
+        }
+        for (Segment segment : segments) {
+            segment.scan(this);
+        }
+    }
+
+    /**
+     * Total number of indexed entries.
+     *
+     * @return number of entries
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    /**
+     * Select all entries at the provided level or more severe, from sources
+     * whose address contains the provided text, ignoring case.
+     *
+     * @param level minimum level
+     * @param sourceFilter text to match in source address, or empty for all
+     * @return selection of matching entries
+     */
+    public synchronized Selection select(LogLevel level, String sourceFilter) {
+        String filter = sourceFilter.strip().toLowerCase(Locale.ROOT);
+        boolean[] matching = new boolean[sources.size()];
+        for (int i = 0; i < matching.length; i++) {
+            matching[i] = filter.isEmpty()
+                    || sources.get(i).toLowerCase(Locale.ROOT).contains(filter);
+        }
+        byte maxLevel = SessionLog.encode(level);
+        Segment[] snapshot = segments.toArray(Segment[]::new);
+        long[] rows = new long[64];
+        int size = 0;
+        for (int s = 0; s < snapshot.length; s++) {
+            Segment segment = snapshot[s];
+            for (int i = 0; i < segment.count; i++) {
+                if (segment.levels[i] <= maxLevel && matching[segment.sources[i]]) {
+                    if (size == rows.length) {
+                        rows = Arrays.copyOf(rows, size * 2);
+                    }
+                    rows[size++] = ((long) s << 32) | i;
+                }
+            }
+        }
+        return new Selection(snapshot, List.copyOf(sources), rows, size);
+    }
+
+    private int sourceID(String source) {
+        return sourceIDs.computeIfAbsent(source, s -> {
+            sources.add(s);
+            return sources.size() - 1;
+        });
+    }
+
+    private static String readString(ByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A fixed selection of entries from the index.
+     */
+    public static final class Selection {
+
+        private final Segment[] segments;
+        private final List<String> sources;
+        private final long[] rows;
+        private final int size;
+
+        private Selection(Segment[] segments, List<String> sources, long[] rows, int size) {
+            this.segments = segments;
+            this.sources = sources;
+            this.rows = rows;
+            this.size = size;
+        }
+
+        /**
+         * Number of selected entries.
+         *
+         * @return number of entries
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Time of the entry, in milliseconds since the epoch.
+         *
+         * @param row index of entry in selection
+         * @return time in milliseconds
+         */
+        public long time(int row) {
+            return buffer(row).getLong(offset(row) + 1);
+        }
+
+        /**
+         * Level of the entry.
+         *
+         * @param row index of entry in selection
+         * @return level
+         */
+        public LogLevel level(int row) {
+            return SessionLog.decode(segment(row).levels[entry(row)]);
+        }
+
+        /**
+         * Source address of the entry.
+         *
+         * @param row index of entry in selection
+         * @return source address
+         */
+        public String source(int row) {
+            return sources.get(segment(row).sources[entry(row)]);
+        }
+
+        /**
+         * Message of the entry, read from the mapped segment.
+         *
+         * @param row index of entry in selection
+         * @return message
+         */
+        public String message(int row) {
+            ByteBuffer buffer = buffer(row);
+            int offset = offset(row);
+            int length = buffer.getInt(offset + 14);
+            return readString(buffer, offset + SessionLog.ENTRY_OVERHEAD, length);
+        }
+
+        private Segment segment(int row) {
+            return segments[(int) (rows[row] >>> 32)];
+        }
+
+        private int entry(int row) {
+            return (int) rows[row];
+        }
+
+        private ByteBuffer buffer(int row) {
+            return segment(row).buffer;
+        }
+
+        private int offset(int row) {
+            return segment(row).offsets[entry(row)];
+        }
+
+    }
+
+    private static final class Segment {
+
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private final List<Integer> localSources;
+
+        private int position;
+        private int count;
+        private int[] offsets;
+        private byte[] levels;
+        private int[] sources;
+
+        private Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+            this.localSources = new ArrayList<>();
+            this.position = SessionLog.HEADER_SIZE;
+            this.offsets = new int[1024];
+            this.levels = new byte[1024];
+            this.sources = new int[1024];
+        }
+
+        private void scan(SessionLogIndex index) {
+            int limit = buffer.capacity();
+            int pos = position;
+            while (pos < limit) {
+                byte type = buffer.get(pos);
+                // a torn or truncated tail may end within the record header
+                if (type == SessionLog.TYPE_SOURCE) {
+                    if (pos + SessionLog.SOURCE_OVERHEAD > limit) {
+                        break;
+                    }
+                    int id = buffer.getInt(pos + 1);
+                    int length = buffer.getShort(pos + 5) & 0xFFFF;
+                    if (pos + SessionLog.SOURCE_OVERHEAD + length > limit) {
+                        break;
+                    }
+                    String source = readString(buffer, pos + SessionLog.SOURCE_OVERHEAD, length);
+                    while (localSources.size() <= id) {
+                        localSources.add(0);
+                    }
+                    localSources.set(id, index.sourceID(source));
+                    pos += SessionLog.SOURCE_OVERHEAD + length;
+                } else if (type == SessionLog.TYPE_ENTRY) {
+                    if (pos + SessionLog.ENTRY_OVERHEAD > limit) {
+                        break;
+                    }
+                    byte level = buffer.get(pos + 9);
+                    int source = buffer.getInt(pos + 10);
+                    int length = buffer.getInt(pos + 14);
+                    if (length < 0 || pos + SessionLog.ENTRY_OVERHEAD + length > limit
+                            || source < 0 || source >= localSources.size()) {
+                        break;
+                    }
+                    add(pos, level, localSources.get(source));
+                    pos += SessionLog.ENTRY_OVERHEAD + length;
+                } else {
+                    break;
+                }
+            }
+            position = pos;
+        }
+
+        private void add(int offset, byte level, int source) {
+            if (count == offsets.length) {
+                int capacity = count * 2;
+                offsets = Arrays.copyOf(offsets, capacity);
+                levels = Arrays.copyOf(levels, capacity);
+                sources = Arrays.copyOf(sources, capacity);
+            }
+            offsets[count] = offset;
+            levels[count] = level;
+            sources[count] = source;
+            count++;
+        }
+
+        private static Segment open(Path file) throws IOException {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < SessionLog.HEADER_SIZE || size > Integer.MAX_VALUE) {
+                    return null;
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            if (buffer.getInt(0) != SessionLog.MAGIC
+                    || buffer.getInt(4) != SessionLog.VERSION) {
+                return null;
+            }
+            return new Segment(file, buffer);
+        }
+
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.project.sessionlog;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.praxislive.core.services.LogLevel;
+
+/**
+ * Writes entries to rotating memory mapped segment files. Not thread safe -
+ * all methods must be called from a single thread.
+ */
+final class SessionLogWriter {
+
+    private static final Logger LOG = Logger.getLogger(SessionLogWriter.class.getName());
+
+    private final Path dir;
+    private final Map<String, Integer> sources;
+
+    private long segmentIndex;
+    private MappedByteBuffer buffer;
+
+    SessionLogWriter(Path dir) throws IOException {
+        this.dir = dir;
+        this.sources = new HashMap<>();
+        Files.createDirectories(dir);
+        List<Path> existing = SessionLog.segments(dir);
+        segmentIndex = existing.isEmpty() ? 0
+                : SessionLog.segmentIndex(existing.get(existing.size() - 1)) + 1;
+        openSegment();
+        deleteOldSegments();
+    }
+
+    void write(long time, LogLevel level, String source, String message) throws IOException {
+        byte[] msg = message.getBytes(StandardCharsets.UTF_8);
+        int msgLength = Math.min(msg.length, SessionLog.MAX_MESSAGE);
+        byte[] src = source.getBytes(StandardCharsets.UTF_8);
+        int srcLength = Math.min(src.length, Short.MAX_VALUE);
+        Integer id = sources.get(source);
+        int required = SessionLog.ENTRY_OVERHEAD + msgLength
+                + (id == null ? SessionLog.SOURCE_OVERHEAD + srcLength : 0);
+        // leave room for the end marker
+        if (buffer.remaining() < required + 1) {
+            rotate();
+            id = null;
+        }
+        if (id == null) {
+            id = sources.size();
+            sources.put(source, id);
+            int pos = buffer.position();
+            buffer.position(pos + 1);
+            buffer.putInt(id);
+            buffer.putShort((short) srcLength);
+            buffer.put(src, 0, srcLength);
+            buffer.put(pos, SessionLog.TYPE_SOURCE);
+        }
+        int pos = buffer.position();
+        buffer.position(pos + 1);
+        buffer.putLong(time);
+        buffer.put(SessionLog.encode(level));
+        buffer.putInt(id);
+        buffer.putInt(msgLength);
+        buffer.put(msg, 0, msgLength);
+        buffer.put(pos, SessionLog.TYPE_ENTRY);
+    }
+
+    void close() {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+    }
+
+    private void rotate() throws IOException {
+        buffer.force();
+        segmentIndex++;
+        sources.clear();
+        openSegment();
+        deleteOldSegments();
+    }
+
+    private void openSegment() throws IOException {
+        Path file = SessionLog.segmentFile(dir, segmentIndex);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SessionLog.SEGMENT_SIZE);
+        }
+        buffer.putInt(SessionLog.MAGIC);
+        buffer.putInt(SessionLog.VERSION);
+        buffer.putLong(System.currentTimeMillis());
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments = SessionLog.segments(dir);
+        for (int i = 0; i < segments.size() - SessionLog.MAX_SEGMENTS; i++) {
+            try {
+                Files.deleteIfExists(segments.get(i));
+            } catch (IOException ex) {
+                // may be mapped by a viewer on some platforms - try again next time
+                LOG.log(Level.FINE, "Unable to delete session log segment", ex);
+            }
+        }
+    }
+
+}
@@ -37,6 +37,18 @@ public interface ElementHandler {
      */
     public void process(Callback callback) throws Exception;
 
+    /**
+     * Prepare to process the element. Called on the Swing event thread for
+     * all file handlers taking part in an execution, before any element is
+     * processed, allowing work that does not depend on the hub, such as
+     * reading and parsing files, to start early and in parallel. This method
+     * must not block. The default implementation does nothing.
+     *
+     * @throws Exception
+     */
+    public default void prepare() throws Exception {
+    }
+
     /**
      * List of any warning messages generated during process of this handler.
      * There may be warnings whether the process results in a complete or error
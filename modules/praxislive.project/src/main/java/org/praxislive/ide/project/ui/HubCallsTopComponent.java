@@ -0,0 +1,361 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.project.ui;
+
+import java.awt.BorderLayout;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import javax.swing.JButton;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JToolBar;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import org.netbeans.api.project.ProjectUtils;
+import org.openide.filesystems.FileChooserBuilder;
+import org.openide.util.Exceptions;
+import org.openide.util.NbBundle;
+import org.openide.windows.TopComponent;
+import org.openide.windows.WindowManager;
+import org.praxislive.ide.core.api.AbstractHelperComponent;
+import org.praxislive.ide.core.api.CallMetrics;
+import org.praxislive.ide.project.DefaultPraxisProject;
+
+/**
+ * Top component which displays round-trip metrics of calls from the IDE into
+ * the hub of each active project.
+ */
+@NbBundle.Messages({
+    "CTL_HubCallsTopComponent=Hub Calls",
+    "HINT_HubCallsTopComponent=Round-trip metrics of calls into the hub",
+    "LBL_HubCallsReset=Reset",
+    "LBL_HubCallsExport=Export CSV...",
+    "COL_HubCallsProject=Project",
+    "COL_HubCallsHelper=Helper",
+    "COL_HubCallsRoot=Root",
+    "COL_HubCallsCalls=Calls",
+    "COL_HubCallsRate=Calls/s",
+    "COL_HubCallsErrors=Errors %",
+    "COL_HubCallsTimeouts=Timeouts",
+    "COL_HubCallsInFlight=In Flight",
+    "COL_HubCallsLate=Late Replies",
+    "COL_HubCallsP50=p50 (ms)",
+    "COL_HubCallsP99=p99 (ms)",
+    "COL_HubCallsMax=Max (ms)",
+    "LBL_HubCallsAllRoots=(all)"
+})
+public final class HubCallsTopComponent extends TopComponent {
+
+    private static final String PREFERRED_ID = "HubCallsTopComponent";
+    private static final int REFRESH_MS = 1000;
+
+    private static HubCallsTopComponent instance;
+
+    private final MetricsModel model;
+    private final Timer timer;
+
+    public HubCallsTopComponent() {
+        setName(Bundle.CTL_HubCallsTopComponent());
+        setToolTipText(Bundle.HINT_HubCallsTopComponent());
+        model = new MetricsModel();
+        timer = new Timer(REFRESH_MS, e -> model.refresh());
+        initComponents();
+    }
+
+    private void initComponents() {
+        setLayout(new BorderLayout());
+        var table = new JTable(model);
+        table.setAutoCreateRowSorter(true);
+        table.setFillsViewportHeight(true);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        var toolBar = new JToolBar();
+        toolBar.setFloatable(false);
+        var resetButton = new JButton(Bundle.LBL_HubCallsReset());
+        resetButton.addActionListener(e -> model.reset());
+        toolBar.add(resetButton);
+        var exportButton = new JButton(Bundle.LBL_HubCallsExport());
+        exportButton.addActionListener(e -> exportCSV());
+        toolBar.add(exportButton);
+        add(toolBar, BorderLayout.NORTH);
+    }
+
+    /**
+     * Gets default instance. Do not use directly: reserved for *.settings files
+     * only, i.e. deserialization routines; otherwise you could get a
+     * non-deserialized instance. To obtain the singleton instance, use
+     * {@link #findInstance}.
+     */
+    public static synchronized HubCallsTopComponent getDefault() {
+        if (instance == null) {
+            instance = new HubCallsTopComponent();
+        }
+        return instance;
+    }
+
+    /**
+     * Obtain the HubCallsTopComponent instance. Never call {@link #getDefault}
+     * directly!
+     */
+    public static synchronized HubCallsTopComponent findInstance() {
+        TopComponent win = WindowManager.getDefault().findTopComponent(PREFERRED_ID);
+        if (win == null) {
+            Logger.getLogger(HubCallsTopComponent.class.getName()).warning(
+                    "Cannot find " + PREFERRED_ID + " component. It will not be located properly in the window system.");
+            return getDefault();
+        }
+        if (win instanceof HubCallsTopComponent) {
+            return (HubCallsTopComponent) win;
+        }
+        Logger.getLogger(HubCallsTopComponent.class.getName()).warning(
+                "There seem to be multiple components with the '" + PREFERRED_ID
+                + "' ID. That is a potential source of errors and unexpected behavior.");
+        return getDefault();
+    }
+
+    @Override
+    public int getPersistenceType() {
+        return TopComponent.PERSISTENCE_NEVER;
+    }
+
+    @Override
+    public void componentOpened() {
+        model.refresh();
+        timer.start();
+    }
+
+    @Override
+    public void componentClosed() {
+        timer.stop();
+    }
+
+    @Override
+    protected String preferredID() {
+        return PREFERRED_ID;
+    }
+
+    private void exportCSV() {
+        File file = new FileChooserBuilder(HubCallsTopComponent.class)
+                .setFilesOnly(true)
+                .showSaveDialog();
+        if (file == null) {
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            out.append("project,helper,in_flight,late_replies,")
+                    .append(CallMetrics.CSV_HEADER).append('\n');
+            for (var project : DefaultPraxisProject.activeProjects()) {
+                String projectName = ProjectUtils.getInformation(project).getName();
+                for (var helper : project.getLookup().lookupAll(AbstractHelperComponent.class)) {
+                    helper.getCallMetrics().writeCSV(out,
+                            csvField(projectName) + ","
+                            + csvField(helper.getClass().getSimpleName()) + ","
+                            + helper.getPendingCallCount() + ","
+                            + helper.getLateReplyCount() + ",");
+                }
+            }
+        } catch (IOException ex) {
+            Exceptions.printStackTrace(ex);
+        }
+    }
+
+    // quote fields containing separators, quotes or line breaks (RFC 4180)
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static record Row(String project, String helper, String root,
+            long calls, double rate, double errorPercent, long timeouts,
+            Long inFlight, Long lateReplies,
+            double p50, double p99, double max) {
+
+    }
+
+    private static class MetricsModel extends AbstractTableModel {
+
+        private final Map<String, Long> lastCounts;
+
+        private List<Row> rows;
+        private long lastTime;
+
+        private MetricsModel() {
+            lastCounts = new HashMap<>();
+            rows = List.of();
+        }
+
+        private void refresh() {
+            long now = System.nanoTime();
+            double seconds = lastTime == 0 ? 0
+                    : (now - lastTime) / (double) TimeUnit.SECONDS.toNanos(1);
+            lastTime = now;
+            List<Row> updated = new ArrayList<>();
+            Map<String, Long> counts = new HashMap<>();
+            for (var project : DefaultPraxisProject.activeProjects()) {
+                String projectName = ProjectUtils.getInformation(project).getName();
+                for (var helper : project.getLookup().lookupAll(AbstractHelperComponent.class)) {
+                    String helperName = helper.getClass().getSimpleName();
+                    var metrics = helper.getCallMetrics();
+                    // in flight and late replies are only tracked per helper
+                    updated.add(row(projectName, helperName, Bundle.LBL_HubCallsAllRoots(),
+                            metrics.total(), seconds, counts,
+                            (long) helper.getPendingCallCount(), helper.getLateReplyCount()));
+                    metrics.roots().forEach((root, stats) -> {
+                        updated.add(row(projectName, helperName, root,
+                                stats, seconds, counts, null, null));
+                    });
+                }
+            }
+            lastCounts.clear();
+            lastCounts.putAll(counts);
+            rows = List.copyOf(updated);
+            fireTableDataChanged();
+        }
+
+        private Row row(String projectName, String helperName, String root,
+                CallMetrics.Stats stats, double seconds, Map<String, Long> counts,
+                Long inFlight, Long lateReplies) {
+            String key = projectName + "/" + helperName + "/" + root;
+            long calls = stats.calls();
+            long previous = lastCounts.getOrDefault(key, calls);
+            counts.put(key, calls);
+            double rate = seconds > 0 ? (calls - previous) / seconds : 0;
+            double errors = calls > 0 ? 100.0 * stats.errors() / calls : 0;
+            var latency = stats.latency();
+            return new Row(projectName, helperName, root,
+                    calls, rate, errors, stats.timeouts(), inFlight, lateReplies,
+                    toMillis(latency.valueAtPercentile(50)),
+                    toMillis(latency.valueAtPercentile(99)),
+                    toMillis(latency.max()));
+        }
+
+        private void reset() {
+            for (var project : DefaultPraxisProject.activeProjects()) {
+                project.getLookup().lookupAll(AbstractHelperComponent.class)
+                        .forEach(helper -> helper.getCallMetrics().reset());
+            }
+            lastCounts.clear();
+            lastTime = 0;
+            refresh();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 12;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return switch (column) {
+                case 0 ->
+                    Bundle.COL_HubCallsProject();
+                case 1 ->
+                    Bundle.COL_HubCallsHelper();
+                case 2 ->
+                    Bundle.COL_HubCallsRoot();
+                case 3 ->
+                    Bundle.COL_HubCallsCalls();
+                case 4 ->
+                    Bundle.COL_HubCallsRate();
+                case 5 ->
+                    Bundle.COL_HubCallsErrors();
+                case 6 ->
+                    Bundle.COL_HubCallsTimeouts();
+                case 7 ->
+                    Bundle.COL_HubCallsInFlight();
+                case 8 ->
+                    Bundle.COL_HubCallsLate();
+                case 9 ->
+                    Bundle.COL_HubCallsP50();
+                case 10 ->
+                    Bundle.COL_HubCallsP99();
+                default ->
+                    Bundle.COL_HubCallsMax();
+            };
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return switch (column) {
+                case 0, 1, 2 ->
+                    String.class;
+                case 3, 6, 7, 8 ->
+                    Long.class;
+                default ->
+                    Double.class;
+            };
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            Row row = rows.get(rowIndex);
+            return switch (columnIndex) {
+                case 0 ->
+                    row.project();
+                case 1 ->
+                    row.helper();
+                case 2 ->
+                    row.root();
+                case 3 ->
+                    row.calls();
+                case 4 ->
+                    row.rate();
+                case 5 ->
+                    row.errorPercent();
+                case 6 ->
+                    row.timeouts();
+                case 7 ->
+                    row.inFlight();
+                case 8 ->
+                    row.lateReplies();
+                case 9 ->
+                    row.p50();
+                case 10 ->
+                    row.p99();
+                default ->
+                    row.max();
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,274 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.project.ui;
+
+import java.awt.BorderLayout;
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.JToolBar;
+import javax.swing.table.AbstractTableModel;
+import org.netbeans.api.project.ProjectUtils;
+import org.openide.util.Exceptions;
+import org.openide.util.NbBundle;
+import org.openide.util.RequestProcessor;
+import org.openide.windows.TopComponent;
+import org.openide.windows.WindowManager;
+import org.praxislive.core.services.LogLevel;
+import org.praxislive.ide.project.DefaultPraxisProject;
+import org.praxislive.ide.project.sessionlog.SessionLogIndex;
+
+/**
+ * Top component for viewing and filtering the binary session log of a project.
+ */
+@NbBundle.Messages({
+    "CTL_SessionLogTopComponent=Session Log",
+    "HINT_SessionLogTopComponent=Search the session log of a project",
+    "LBL_SessionLogProject=Project ",
+    "LBL_SessionLogLevel= Level ",
+    "LBL_SessionLogSource= Source ",
+    "LBL_SessionLogRefresh=Refresh",
+    "# {0} - selected entries",
+    "# {1} - total entries",
+    "LBL_SessionLogCount= {0} of {1} entries",
+    "COL_SessionLogTime=Time",
+    "COL_SessionLogLevel=Level",
+    "COL_SessionLogSource=Source",
+    "COL_SessionLogMessage=Message"
+})
+public final class SessionLogTopComponent extends TopComponent {
+
+    private static final String PREFERRED_ID = "SessionLogTopComponent";
+    private static final RequestProcessor RP = new RequestProcessor(SessionLogTopComponent.class);
+    private static final DateTimeFormatter TIME_FORMAT
+            = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+                    .withZone(ZoneId.systemDefault());
+
+    private static SessionLogTopComponent instance;
+
+    private final Map<DefaultPraxisProject, SessionLogIndex> indexes;
+    private final EntriesModel model;
+    private final JComboBox<ProjectItem> projectCombo;
+    private final JComboBox<LogLevel> levelCombo;
+    private final JTextField sourceField;
+    private final JLabel countLabel;
+
+    public SessionLogTopComponent() {
+        setName(Bundle.CTL_SessionLogTopComponent());
+        setToolTipText(Bundle.HINT_SessionLogTopComponent());
+        indexes = new HashMap<>();
+        model = new EntriesModel();
+        projectCombo = new JComboBox<>();
+        levelCombo = new JComboBox<>(new LogLevel[]{
+            LogLevel.ERROR, LogLevel.WARNING, LogLevel.INFO, LogLevel.DEBUG
+        });
+        levelCombo.setSelectedItem(LogLevel.DEBUG);
+        sourceField = new JTextField(20);
+        countLabel = new JLabel();
+        initComponents();
+    }
+
+    private void initComponents() {
+        setLayout(new BorderLayout());
+        var table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        var toolBar = new JToolBar();
+        toolBar.setFloatable(false);
+        toolBar.add(new JLabel(Bundle.LBL_SessionLogProject()));
+        toolBar.add(projectCombo);
+        toolBar.add(new JLabel(Bundle.LBL_SessionLogLevel()));
+        toolBar.add(levelCombo);
+        toolBar.add(new JLabel(Bundle.LBL_SessionLogSource()));
+        toolBar.add(sourceField);
+        var refreshButton = new JButton(Bundle.LBL_SessionLogRefresh());
+        refreshButton.addActionListener(e -> update(true));
+        toolBar.add(refreshButton);
+        toolBar.add(countLabel);
+        add(toolBar, BorderLayout.NORTH);
+        projectCombo.addActionListener(e -> update(true));
+        levelCombo.addActionListener(e -> update(false));
+        sourceField.addActionListener(e -> update(false));
+    }
+
+    /**
+     * Gets default instance. Do not use directly: reserved for *.settings files
+     * only, i.e. deserialization routines; otherwise you could get a
+     * non-deserialized instance. To obtain the singleton instance, use
+     * {@link #findInstance}.
+     */
+    public static synchronized SessionLogTopComponent getDefault() {
+        if (instance == null) {
+            instance = new SessionLogTopComponent();
+        }
+        return instance;
+    }
+
+    /**
+     * Obtain the SessionLogTopComponent instance. Never call
+     * {@link #getDefault} directly!
+     */
+    public static synchronized SessionLogTopComponent findInstance() {
+        TopComponent win = WindowManager.getDefault().findTopComponent(PREFERRED_ID);
+        if (win == null) {
+            Logger.getLogger(SessionLogTopComponent.class.getName()).warning(
+                    "Cannot find " + PREFERRED_ID + " component. It will not be located properly in the window system.");
+            return getDefault();
+        }
+        if (win instanceof SessionLogTopComponent) {
+            return (SessionLogTopComponent) win;
+        }
+        Logger.getLogger(SessionLogTopComponent.class.getName()).warning(
+                "There seem to be multiple components with the '" + PREFERRED_ID
+                + "' ID. That is a potential source of errors and unexpected behavior.");
+        return getDefault();
+    }
+
+    @Override
+    public int getPersistenceType() {
+        return TopComponent.PERSISTENCE_NEVER;
+    }
+
+    @Override
+    public void componentOpened() {
+        var selected = projectCombo.getSelectedItem();
+        var items = new DefaultComboBoxModel<ProjectItem>();
+        for (var project : DefaultPraxisProject.activeProjects()) {
+            var item = new ProjectItem(project);
+            items.addElement(item);
+            if (item.equals(selected)) {
+                items.setSelectedItem(item);
+            }
+        }
+        projectCombo.setModel(items);
+        update(true);
+    }
+
+    @Override
+    public void componentClosed() {
+        indexes.clear();
+        model.setSelection(null);
+    }
+
+    @Override
+    protected String preferredID() {
+        return PREFERRED_ID;
+    }
+
+    private void update(boolean rescan) {
+        var item = (ProjectItem) projectCombo.getSelectedItem();
+        if (item == null) {
+            model.setSelection(null);
+            countLabel.setText("");
+            return;
+        }
+        var index = indexes.computeIfAbsent(item.project, SessionLogIndex::of);
+        var level = (LogLevel) levelCombo.getSelectedItem();
+        var filter = sourceField.getText();
+        RP.post(() -> {
+            try {
+                if (rescan) {
+                    index.refresh();
+                }
+            } catch (IOException ex) {
+                Exceptions.printStackTrace(ex);
+            }
+            var selection = index.select(level, filter);
+            int total = index.size();
+            EventQueue.invokeLater(() -> {
+                model.setSelection(selection);
+                countLabel.setText(Bundle.LBL_SessionLogCount(selection.size(), total));
+            });
+        });
+    }
+
+    private static record ProjectItem(DefaultPraxisProject project) {
+
+        @Override
+        public String toString() {
+            return ProjectUtils.getInformation(project).getDisplayName();
+        }
+
+    }
+
+    private static class EntriesModel extends AbstractTableModel {
+
+        private SessionLogIndex.Selection selection;
+
+        private void setSelection(SessionLogIndex.Selection selection) {
+            this.selection = selection;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return selection == null ? 0 : selection.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 4;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return switch (column) {
+                case 0 ->
+                    Bundle.COL_SessionLogTime();
+                case 1 ->
+                    Bundle.COL_SessionLogLevel();
+                case 2 ->
+                    Bundle.COL_SessionLogSource();
+                default ->
+                    Bundle.COL_SessionLogMessage();
+            };
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            return switch (columnIndex) {
+                case 0 ->
+                    TIME_FORMAT.format(Instant.ofEpochMilli(selection.time(rowIndex)));
+                case 1 ->
+                    selection.level(rowIndex);
+                case 2 ->
+                    selection.source(rowIndex);
+                default ->
+                    selection.message(rowIndex);
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+package org.praxislive.ide.project.sessionlog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.praxislive.core.services.LogLevel;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the segment format written by SessionLogWriter, and the scanning
+ * of segments by SessionLogIndex.
+ */
+public class SessionLogTest {
+
+    private static final String SOURCE = "/root/gain";
+    private static final String OTHER_SOURCE = "/root/osc";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public SessionLogTest() {
+    }
+
+    @Test
+    public void testSegmentFormat() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        SessionLogWriter writer = new SessionLogWriter(dir);
+        writer.write(1234L, LogLevel.WARNING, SOURCE, "Message");
+        writer.close();
+
+        List<Path> segments = SessionLog.segments(dir);
+        assertEquals(1, segments.size());
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segments.get(0)));
+        assertEquals(SessionLog.SEGMENT_SIZE, buffer.capacity());
+        assertEquals(SessionLog.MAGIC, buffer.getInt(0));
+        assertEquals(SessionLog.VERSION, buffer.getInt(4));
+
+        int pos = SessionLog.HEADER_SIZE;
+        byte[] src = SOURCE.getBytes(StandardCharsets.UTF_8);
+        assertEquals(SessionLog.TYPE_SOURCE, buffer.get(pos));
+        assertEquals(0, buffer.getInt(pos + 1));
+        assertEquals(src.length, buffer.getShort(pos + 5));
+        assertArrayEquals(src, bytes(buffer, pos + SessionLog.SOURCE_OVERHEAD, src.length));
+
+        pos += SessionLog.SOURCE_OVERHEAD + src.length;
+        byte[] msg = "Message".getBytes(StandardCharsets.UTF_8);
+        assertEquals(SessionLog.TYPE_ENTRY, buffer.get(pos));
+        assertEquals(1234L, buffer.getLong(pos + 1));
+        assertEquals(SessionLog.encode(LogLevel.WARNING), buffer.get(pos + 9));
+        assertEquals(0, buffer.getInt(pos + 10));
+        assertEquals(msg.length, buffer.getInt(pos + 14));
+        assertArrayEquals(msg, bytes(buffer, pos + SessionLog.ENTRY_OVERHEAD, msg.length));
+
+        pos += SessionLog.ENTRY_OVERHEAD + msg.length;
+        assertEquals(SessionLog.TYPE_END, buffer.get(pos));
+    }
+
+    @Test
+    public void testIndexScan() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        SessionLogWriter writer = new SessionLogWriter(dir);
+        writer.write(1L, LogLevel.ERROR, SOURCE, "Error");
+        writer.write(2L, LogLevel.INFO, OTHER_SOURCE, "Info");
+        writer.write(3L, LogLevel.WARNING, SOURCE, "Warning");
+
+        SessionLogIndex index = SessionLogIndex.of(dir);
+        assertEquals(0, index.size());
+        index.refresh();
+        assertEquals(3, index.size());
+
+        SessionLogIndex.Selection all = index.select(LogLevel.DEBUG, "");
+        assertEquals(3, all.size());
+        assertEquals(2L, all.time(1));
+        assertEquals(LogLevel.INFO, all.level(1));
+        assertEquals(OTHER_SOURCE, all.source(1));
+        assertEquals("Info", all.message(1));
+
+        SessionLogIndex.Selection warnings = index.select(LogLevel.WARNING, "");
+        assertEquals(2, warnings.size());
+        assertEquals("Error", warnings.message(0));
+        assertEquals("Warning", warnings.message(1));
+
+        SessionLogIndex.Selection osc = index.select(LogLevel.DEBUG, "OSC");
+        assertEquals(1, osc.size());
+        assertEquals("Info", osc.message(0));
+
+        // refresh only scans records written since the last scan
+        writer.write(4L, LogLevel.ERROR, OTHER_SOURCE, "Later");
+        index.refresh();
+        assertEquals(4, index.size());
+        SessionLogIndex.Selection later = index.select(LogLevel.ERROR, OTHER_SOURCE);
+        assertEquals(1, later.size());
+        assertEquals("Later", later.message(0));
+        writer.close();
+    }
+
+    @Test
+    public void testTornTail() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        SessionLogWriter writer = new SessionLogWriter(dir);
+        writer.write(1L, LogLevel.ERROR, SOURCE, "First");
+        writer.write(2L, LogLevel.ERROR, SOURCE, "Second");
+        writer.close();
+        Path segment = SessionLog.segments(dir).get(0);
+        int end = SessionLog.HEADER_SIZE
+                + SessionLog.SOURCE_OVERHEAD + SOURCE.length()
+                + 2 * SessionLog.ENTRY_OVERHEAD + "First".length() + "Second".length();
+
+        // entry type written, but length runs past the end of the segment
+        ByteBuffer torn = ByteBuffer.allocate(SessionLog.ENTRY_OVERHEAD);
+        torn.put(SessionLog.TYPE_ENTRY).putLong(3L)
+                .put(SessionLog.encode(LogLevel.ERROR)).putInt(0)
+                .putInt(SessionLog.SEGMENT_SIZE).flip();
+        try (var channel = Files.newByteChannel(segment, StandardOpenOption.WRITE)) {
+            channel.position(end);
+            channel.write(torn);
+        }
+        SessionLogIndex index = SessionLogIndex.of(dir);
+        index.refresh();
+        assertEquals(2, index.size());
+        assertEquals("Second", index.select(LogLevel.ERROR, "").message(1));
+
+        // segment truncated part way through the header of the last entry
+        Path truncated = SessionLog.segmentFile(dir, 1);
+        byte[] content = Files.readAllBytes(segment);
+        Files.write(truncated, Arrays.copyOf(content, end - "Second".length() - 4));
+        Files.delete(segment);
+        index = SessionLogIndex.of(dir);
+        index.refresh();
+        assertEquals(1, index.size());
+        assertEquals("First", index.select(LogLevel.ERROR, "").message(0));
+    }
+
+    @Test
+    public void testLevelProperty() {
+        assertEquals(LogLevel.WARNING, SessionLogHandler.level(null, LogLevel.WARNING));
+        assertEquals(LogLevel.INFO, SessionLogHandler.level(" info ", LogLevel.WARNING));
+        assertEquals(LogLevel.ERROR, SessionLogHandler.level("nonsense", LogLevel.ERROR));
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return bytes;
+    }
+
+}
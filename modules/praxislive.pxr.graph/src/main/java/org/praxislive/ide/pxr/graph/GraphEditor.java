@@ -67,6 +67,7 @@ import org.praxislive.ide.pxr.graph.scene.ObjectSceneAdaptor;
 import org.praxislive.ide.pxr.graph.scene.PinID;
 import org.praxislive.ide.pxr.graph.scene.PinWidget;
 import org.praxislive.ide.pxr.graph.scene.PraxisGraphScene;
+import org.praxislive.ide.model.ConnectionsChangeEvent;
 import org.praxislive.ide.model.ComponentProxy;
 import org.praxislive.ide.model.ContainerProxy;
 import org.praxislive.ide.model.RootProxy;
@@ -113,7 +114,9 @@ import org.praxislive.core.Value;
 import org.praxislive.core.Watch;
 import org.praxislive.core.types.PArray;
 import org.praxislive.core.types.PBoolean;
+import org.praxislive.core.types.PMap;
 import org.praxislive.core.types.PNumber;
+import org.praxislive.core.types.PString;
 import org.praxislive.ide.core.api.Disposable;
 import org.praxislive.ide.core.api.Task;
 import org.praxislive.ide.project.api.PraxisProject;
@@ -164,6 +167,7 @@ public final class GraphEditor implements RootEditor {
 
     private final Point activePoint = new Point();
     private boolean sync;
+    private boolean showing;
     private boolean ignoreAttributeChanges;
 
     public GraphEditor(RootProxy proxy, RootEditor.Context context) {
@@ -327,6 +331,27 @@ public final class GraphEditor implements RootEditor {
         requestFocus();
     }
 
+    @Override
+    public void componentShowing() {
+        setShowing(true);
+    }
+
+    @Override
+    public void componentHidden() {
+        setShowing(false);
+    }
+
+    // container keeps syncing while hidden, but at lower priority
+    private void setShowing(boolean showing) {
+        this.showing = showing;
+        if (container != null) {
+            Syncable syncable = container.getLookup().lookup(Syncable.class);
+            if (syncable != null) {
+                syncable.setKeyVisible(this, showing);
+            }
+        }
+    }
+
     @Override
     public void dispose() {
         manager.removePropertyChangeListener(selectionListener);
@@ -464,6 +489,7 @@ public final class GraphEditor implements RootEditor {
         Syncable syncable = container.getLookup().lookup(Syncable.class);
         if (syncable != null) {
             syncable.addKey(this);
+            syncable.setKeyVisible(this, showing);
         }
 
         container.getNodeDelegate().getChildren().getNodes();
@@ -517,7 +543,7 @@ public final class GraphEditor implements RootEditor {
             buildPin(id, cmp, portID, pi);
         }
         cmp.addPropertyChangeListener(componentListener);
-        syncConnections();
+        syncChildConnections(id);
         configureExposedTools(widget, cmp);
     }
 
@@ -540,7 +566,8 @@ public final class GraphEditor implements RootEditor {
             PortInfo pi = info.portInfo(portID);
             buildPin(id, cmp, portID, pi);
         }
-        syncConnections();
+        syncChildConnections(id);
+        scene.validate();
         Widget w = scene.findWidget(cmp.getAddress().componentID());
         if (w instanceof NodeWidget node) {
             configureWidgetFromAttributes(node, cmp);
@@ -773,6 +800,35 @@ public final class GraphEditor implements RootEditor {
         scene.validate();
     }
 
+    // build the edges of a single child from the container's connection
+    // index, rather than comparing every connection in the container - the
+    // child has no known connections, and any to a child not yet built are
+    // added when that child is built
+    private void syncChildConnections(String id) {
+        if (container == null) {
+            return;
+        }
+        container.connections(id).forEach(con -> {
+            if (!knownConnections.contains(con) && buildConnection(con)) {
+                knownConnections.add(con);
+            }
+        });
+    }
+
+    private void applyConnectionsChange(ConnectionsChangeEvent change) {
+        for (Connection con : change.removed()) {
+            if (knownConnections.remove(con)) {
+                removeConnection(con);
+            }
+        }
+        for (Connection con : change.added()) {
+            if (!knownConnections.contains(con) && buildConnection(con)) {
+                knownConnections.add(con);
+            }
+        }
+        scene.validate();
+    }
+
     void syncGraph(boolean sync) {
         syncGraph(sync, false);
     }
@@ -831,25 +887,41 @@ public final class GraphEditor implements RootEditor {
                 .forEach(this::syncAttributes);
     }
 
+    // only changed attributes are sent, as a single meta merge per component
     private void syncAttributes(ComponentProxy cmp) {
-        ignoreAttributeChanges = true;
         Widget widget = scene.findWidget(cmp.getAddress().componentID());
         if (widget instanceof NodeWidget nodeWidget) {
             int x = (int) nodeWidget.getLocation().getX();
             int y = (int) nodeWidget.getLocation().getY();
+            boolean minimized = nodeWidget.isMinimized();
+            if (!isAttributesChanged(cmp, x, y, minimized)) {
+                return;
+            }
             if (LOG.isLoggable(Level.FINE)) {
                 LOG.log(Level.FINE, "Setting position attributes of {0} to x:{1} y:{2}",
                         new Object[]{cmp.getAddress(), x, y});
             }
-            Attributes.set(cmp, ATTR_GRAPH_X, PNumber.of(x));
-            Attributes.set(cmp, ATTR_GRAPH_Y, PNumber.of(y));
-            if (nodeWidget.isMinimized()) {
-                Attributes.set(cmp, ATTR_GRAPH_MINIMIZED, PBoolean.TRUE);
-            } else {
-                Attributes.clear(cmp, ATTR_GRAPH_MINIMIZED);
+            ignoreAttributeChanges = true;
+            try {
+                Attributes.set(cmp, PMap.builder()
+                        .put(ATTR_GRAPH_X, PNumber.of(x))
+                        .put(ATTR_GRAPH_Y, PNumber.of(y))
+                        .put(ATTR_GRAPH_MINIMIZED, minimized ? PBoolean.TRUE : PString.EMPTY)
+                        .build());
+            } finally {
+                ignoreAttributeChanges = false;
             }
         }
-        ignoreAttributeChanges = false;
+    }
+
+    private boolean isAttributesChanged(ComponentProxy cmp, int x, int y, boolean minimized) {
+        PNumber attrX = Attributes.get(cmp, PNumber.class, ATTR_GRAPH_X, null);
+        PNumber attrY = Attributes.get(cmp, PNumber.class, ATTR_GRAPH_Y, null);
+        boolean attrMinimized = Attributes.get(cmp, PBoolean.class,
+                ATTR_GRAPH_MINIMIZED, PBoolean.FALSE).value();
+        return attrX == null || attrX.toIntValue() != x
+                || attrY == null || attrY.toIntValue() != y
+                || attrMinimized != minimized;
     }
 
     void acceptComponentType(final ComponentType type) {
@@ -903,6 +975,8 @@ public final class GraphEditor implements RootEditor {
             if (sync) {
                 if (ContainerProtocol.CHILDREN.equals(evt.getPropertyName())) {
                     syncChildren(false);
+                } else if (evt instanceof ConnectionsChangeEvent change) {
+                    applyConnectionsChange(change);
                 } else if (ContainerProtocol.CONNECTIONS.equals(evt.getPropertyName())) {
                     syncConnections();
                 } else if (ComponentProtocol.META.equals(evt.getPropertyName())) {
@@ -42,6 +42,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.imageio.ImageIO;
 import javax.swing.Timer;
 import org.netbeans.api.visual.border.Border;
@@ -51,6 +52,7 @@ import org.netbeans.api.visual.widget.LabelWidget;
 import org.netbeans.api.visual.widget.Scene;
 import org.netbeans.api.visual.widget.Widget;
 import org.openide.util.Exceptions;
+import org.openide.util.RequestProcessor;
 import org.praxislive.core.ControlInfo;
 import org.praxislive.core.Value;
 import org.praxislive.core.Watch;
@@ -262,6 +264,10 @@ abstract class WatchDisplay extends Widget {
     private static class ImageDisplay extends WatchDisplay {
 
         private final ScaledImageWidget imageWidget;
+        private final AtomicReference<PBytes> pending;
+
+        private static final RequestProcessor RP
+                = new RequestProcessor(ImageDisplay.class.getName(), 1, true);
 
         private PBytes data;
         private BufferedImage image;
@@ -270,6 +276,7 @@ abstract class WatchDisplay extends Widget {
                 String control, String relatedPort) {
             super(scene, cmp, control, relatedPort);
             imageWidget = new ScaledImageWidget(scene);
+            pending = new AtomicReference<>();
             addChild(imageWidget);
         }
 
@@ -279,22 +286,45 @@ abstract class WatchDisplay extends Widget {
             if (!Objects.equals(data, newData)) {
                 this.data = newData;
                 if (data.isEmpty()) {
+                    pending.set(null);
                     this.image = null;
                     imageWidget.setImage(null);
-                } else {
-                    try {
-                        image = ImageIO.read(data.asInputStream());
-                        imageWidget.setImage(image);
-                    } catch (IOException ex) {
-                        Exceptions.printStackTrace(ex);
-                        this.image = null;
-                        imageWidget.setImage(null);
-                    }
+                    getScene().validate();
+                } else if (pending.getAndSet(data) == null) {
+                    // only schedule if no frame is waiting - a waiting frame
+                    // is replaced, so at most one decode is queued per display
+                    RP.execute(this::decodeLatest);
                 }
-                getScene().validate();
             }
         }
 
+        private void decodeLatest() {
+            PBytes decoding = pending.getAndSet(null);
+            if (decoding == null) {
+                return;
+            }
+            BufferedImage decoded;
+            try {
+                decoded = ImageIO.read(decoding.asInputStream());
+            } catch (IOException ex) {
+                Exceptions.printStackTrace(ex);
+                decoded = null;
+            }
+            BufferedImage result = decoded;
+            EventQueue.invokeLater(() -> applyImage(result));
+        }
+
+        private void applyImage(BufferedImage result) {
+            // ignore if cleared while decoding - frames are decoded in order,
+            // so any newer frame will follow
+            if (data.isEmpty()) {
+                return;
+            }
+            this.image = result;
+            imageWidget.setImage(result);
+            getScene().validate();
+        }
+
     }
 
     private static class SVGDisplay extends WatchDisplay {
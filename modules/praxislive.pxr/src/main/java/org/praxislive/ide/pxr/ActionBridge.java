@@ -47,6 +47,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
+import org.netbeans.api.progress.ProgressHandle;
 import org.praxislive.core.ComponentAddress;
 import org.praxislive.ide.core.api.Task;
 import org.praxislive.ide.model.ContainerProxy;
@@ -91,7 +92,11 @@ import org.praxislive.project.ParseException;
     "# {0} - component ID",
     "LBL_DeleteTaskSingle=Delete {0}?",
     "# {0} - component count",
-    "LBL_DeleteTaskMultiple=Delete {0} components?"
+    "LBL_DeleteTaskMultiple=Delete {0} components?",
+    "# {0} - container address",
+    "LBL_PasteProgress=Pasting into {0}",
+    "# {0} - file name",
+    "LBL_ImportProgress=Importing {0}"
 })
 public class ActionBridge {
 
@@ -302,6 +307,7 @@ public class ActionBridge {
         private final ContainerProxy container;
         private final ModelTransform.Paste pasteTransform;
         private List<String> log;
+        private ChunkedEval eval;
 
         PasteTask(ContainerProxy container, ModelTransform.Paste pasteTransform) {
             this.container = container;
@@ -329,9 +335,23 @@ public class ActionBridge {
                 }
                 model = pasteTransform.apply(model);
                 List<String> children = model.root().children().keySet().stream().toList();
-                helper.safeContextEval(projectDir, container.getAddress(),
-                        model.writeToString())
+                eval = new ChunkedEval(helper, projectDir, container.getAddress(), model);
+                root.markModified();
+                ProgressHandle ph = eval.isChunked()
+                        ? ProgressHandle.createHandle(Bundle.LBL_PasteProgress(container.getAddress()), this)
+                        : null;
+                if (ph != null) {
+                    ph.setInitialDelay(0);
+                    ph.start();
+                }
+                eval.execute(ph)
                         .whenComplete((r, ex) -> {
+                            if (ph != null) {
+                                ph.finish();
+                            }
+                            if (getState() != State.RUNNING) {
+                                return;
+                            }
                             if (ex != null) {
                                 log = handleException(ex);
                                 updateState(State.ERROR);
@@ -345,6 +365,15 @@ public class ActionBridge {
 
         }
 
+        @Override
+        protected boolean handleCancel() {
+            if (eval != null) {
+                eval.cancel();
+                return true;
+            }
+            return false;
+        }
+
         @Override
         public List<String> log() {
             return log;
@@ -456,6 +485,8 @@ public class ActionBridge {
         private final FileObject file;
         private final ModelTransform.Import importTransform;
         private List<String> log;
+        private ChunkedEval eval;
+        private ProgressHandle ph;
 
         ImportTask(ContainerProxy container, FileObject file, ModelTransform.Import importTransform) {
             this.container = container;
@@ -479,6 +510,9 @@ public class ActionBridge {
                         }
                     }, RP)
                     .thenComposeAsync(script -> {
+                        if (getState() != Task.State.RUNNING) {
+                            return CompletableFuture.completedStage(null);
+                        }
                         try {
                             GraphModel model = GraphModel.parseSubgraph(projectDir, script);
                             model = ImportRenameSupport.prepareForImport(container, model);
@@ -487,22 +521,44 @@ public class ActionBridge {
                                 return CompletableFuture.completedStage(null);
                             }
                             model = importTransform.apply(model);
-                            return helper.safeContextEval(projectDir,
-                                    container.getAddress(), model.writeToString());
+                            eval = new ChunkedEval(helper, projectDir,
+                                    container.getAddress(), model);
+                            root.markModified();
+                            if (eval.isChunked()) {
+                                ph = ProgressHandle.createHandle(
+                                        Bundle.LBL_ImportProgress(file.getNameExt()), this);
+                                ph.setInitialDelay(0);
+                                ph.start();
+                            }
+                            return eval.execute(ph);
                         } catch (ParseException pex) {
                             throw new RuntimeException(pex);
                         }
                     }, EventQueue::invokeLater)
                     .whenCompleteAsync((r, ex) -> {
+                        if (ph != null) {
+                            ph.finish();
+                        }
+                        if (getState() != Task.State.RUNNING) {
+                            return;
+                        }
                         if (ex != null) {
                             log = handleException(ex);
                             updateState(State.ERROR);
-                        } else if (getState() == Task.State.RUNNING) {
+                        } else {
                             updateState(State.COMPLETED);
                         }
                     }, EventQueue::invokeLater);
         }
 
+        @Override
+        protected boolean handleCancel() {
+            if (eval != null) {
+                eval.cancel();
+            }
+            return true;
+        }
+
         @Override
         public List<String> log() {
             return log;
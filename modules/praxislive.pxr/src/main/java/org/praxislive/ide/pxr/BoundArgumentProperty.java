@@ -26,14 +26,18 @@ import java.beans.PropertyChangeSupport;
 import java.beans.PropertyEditor;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.swing.Timer;
 import org.praxislive.base.Binding;
 import org.praxislive.core.Value;
 import org.praxislive.core.ControlAddress;
 import org.praxislive.core.ControlInfo;
+import org.praxislive.core.types.PError;
 import org.praxislive.core.types.PString;
 import org.praxislive.ide.core.api.Callback;
+import org.praxislive.ide.core.api.SyncScheduler;
 import org.praxislive.ide.project.api.PraxisProject;
 import org.praxislive.ide.properties.PraxisProperty;
 
@@ -45,8 +49,15 @@ public class BoundArgumentProperty extends
 
     private final static Logger LOG = Logger.getLogger(BoundArgumentProperty.class.getName());
 
+    // live edits may call setValue for every input event - coalesce writes
+    // so that only one is in flight, and never more than the max rate
+    private final static long MIN_WRITE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1)
+            / Math.max(1, Integer.getInteger("praxislive.pxr.maxwriterate", 60));
+    private final static long STALLED_WRITE_NANOS = TimeUnit.SECONDS.toNanos(2);
+
     private final PropertyChangeSupport pcs;
     private final PXRHelper helper;
+    private final PXRRootRegistry registry;
     private final Adaptor adaptor;
     private final ControlAddress address;
     private final ControlInfo info;
@@ -56,7 +67,7 @@ public class BoundArgumentProperty extends
 
     private DelegatingArgumentEditor editor;
     private Value value;
-    
+    private long lastSend;
 
     BoundArgumentProperty(PraxisProject project, ControlAddress address, ControlInfo info) {
         super(Value.class);
@@ -74,9 +85,13 @@ public class BoundArgumentProperty extends
         pcs = new PropertyChangeSupport(this);
         adaptor = new Adaptor();
         value = defaultValue;
+        lastSend = System.nanoTime();
         helper = Objects.requireNonNull(project.getLookup().lookup(PXRHelper.class),
                 "No helper component found");
-        helper.bind(address, adaptor);
+        registry = project.getLookup().lookup(PXRRootRegistry.class);
+        // visible once shown, see PXRComponentProxy
+        helper.bind(address, adaptor, SyncScheduler.Priority.BACKGROUND);
+        helper.requestSyncRate(adaptor, Binding.SyncRate.Medium);
         setName(address.controlID());
         
         setValue("canAutoComplete", Boolean.FALSE);
@@ -193,9 +208,14 @@ public class BoundArgumentProperty extends
         return adaptor.isActive();
     }
 
+    void setSyncPriority(SyncScheduler.Priority priority) {
+        helper.setSyncPriority(adaptor, priority);
+    }
+
     @Override
     public void dispose() {
         super.dispose();
+        adaptor.flushNow();
         helper.unbind(address, adaptor);
     }
 
@@ -211,6 +231,20 @@ public class BoundArgumentProperty extends
         return info;
     }
 
+    /**
+     * Update the value from an aggregated sync, unless a value has been sent
+     * since the sync request was made at the provided time.
+     *
+     * @param value synced value
+     * @param requestTime time of sync request, as System.nanoTime()
+     */
+    void syncValue(Value value, long requestTime) {
+        if (lastSend - requestTime > 0) {
+            return;
+        }
+        setValueImpl(value, false, null);
+    }
+
     private void setValueImpl(Value value, boolean send, Callback callback) {
         if (value == null) {
             throw new NullPointerException();
@@ -223,7 +257,11 @@ public class BoundArgumentProperty extends
         }
         Value oldValue = this.value;
         if (send) {
+            lastSend = System.nanoTime();
             adaptor.sendValue(value, callback);
+            if (!isTransient) {
+                markRootModified();
+            }
         }
         this.value = value;
         if (!equivalent(oldValue, value)) {
@@ -231,6 +269,14 @@ public class BoundArgumentProperty extends
         }
     }
 
+    private void markRootModified() {
+        PXRRootProxy root = registry == null ? null
+                : registry.getRootByID(address.component().rootID());
+        if (root != null) {
+            root.markModified();
+        }
+    }
+
     @Override
     public boolean canRead() {
         return true;
@@ -248,11 +294,16 @@ public class BoundArgumentProperty extends
 
     private class Adaptor extends Binding.Adaptor {
 
+        private Timer flushTimer;
+        private Value queued;
+        private Callback queuedCallback;
         private Callback callback;
+        private boolean inFlight;
+        private long sendTime;
+        private long sequence;
 
         private Adaptor() {
-            setSyncRate(Binding.SyncRate.Medium);
-//            setActive(false);
+            sendTime = System.nanoTime() - MIN_WRITE_INTERVAL_NANOS;
         }
 
         @Override
@@ -265,37 +316,134 @@ public class BoundArgumentProperty extends
                     arg = args.get(0);
                 }
             }
-            if (arg != null) {
-                setValueImpl(arg, false, null);
+            if (arg == null) {
+                return;
             }
+            if (queued != null || inFlight) {
+                // as syncValue() - the binding's sync was requested before a
+                // pending write, which is not sent through the binding, so its
+                // value is stale. Replies arrive in order, so syncs after the
+                // write reply will carry the written value.
+                return;
+            }
+            setValueImpl(arg, false, null);
         }
 
         void sendValue(Value val, Callback callback) {
-            send(List.of(val));
-            if (callback != null) {
-                if (this.callback != null) {
-                    this.callback.onError(List.of());
+            if (queuedCallback != null) {
+                // superseded before being sent
+                Callback cb = queuedCallback;
+                queuedCallback = null;
+                cb.onError(List.of(PError.of("superseded")));
+            }
+            queued = val;
+            queuedCallback = callback;
+            flush();
+        }
+
+        private void flush() {
+            if (queued == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            long wait;
+            if (inFlight) {
+                wait = STALLED_WRITE_NANOS - (now - sendTime);
+                if (wait <= 0) {
+                    // assume lost - binding only responds to the latest call
+                    LOG.log(Level.FINE, "No response to write on {0}", address);
+                    inFlight = false;
+                    respond(false, List.of(PError.of("no response")));
+                    wait = MIN_WRITE_INTERVAL_NANOS - (now - sendTime);
                 }
-                this.callback = callback;
+            } else {
+                wait = MIN_WRITE_INTERVAL_NANOS - (now - sendTime);
+            }
+            if (wait > 0) {
+                scheduleFlush(wait);
+                return;
             }
+            sendQueued(now);
         }
 
-        @Override
-        public void onResponse(List<Value> args) {
+        private void sendQueued(long now) {
+            Value val = queued;
+            callback = queuedCallback;
+            queued = null;
+            queuedCallback = null;
+            inFlight = true;
+            sendTime = now;
+            // sent through the helper rather than the binding, so that each
+            // reply can be matched to its write, and writes to many selected
+            // components are batched
+            long seq = ++sequence;
+            helper.queueWrite(address, List.of(val), new Callback() {
+                @Override
+                public void onReturn(List<Value> args) {
+                    reply(seq, true, args);
+                }
+
+                @Override
+                public void onError(List<Value> args) {
+                    reply(seq, false, args);
+                }
+            });
+        }
+
+        private void reply(long seq, boolean ok, List<Value> args) {
+            if (seq != sequence || !inFlight) {
+                // late reply to a write already treated as lost
+                LOG.log(Level.FINE, "Ignoring late reply to write on {0}", address);
+                return;
+            }
+            inFlight = false;
+            respond(ok, args);
+            flush();
+        }
+
+        private void scheduleFlush(long wait) {
+            int delay = Math.max(1, (int) TimeUnit.NANOSECONDS.toMillis(wait));
+            if (flushTimer == null) {
+                flushTimer = new Timer(delay, e -> flush());
+                flushTimer.setRepeats(false);
+            } else {
+                flushTimer.setInitialDelay(delay);
+            }
+            flushTimer.restart();
+        }
+
+        private void respond(boolean ok, List<Value> args) {
             if (callback != null) {
                 Callback cb = callback;
                 callback = null;
-                cb.onReturn(args);
+                if (ok) {
+                    cb.onReturn(args);
+                } else {
+                    cb.onError(args);
+                }
+            }
+        }
+
+        /**
+         * Send any queued value immediately, ignoring the rate limit.
+         */
+        void flushNow() {
+            if (flushTimer != null) {
+                flushTimer.stop();
+            }
+            if (queued != null) {
+                sendQueued(System.nanoTime());
             }
         }
 
+        @Override
+        public void onResponse(List<Value> args) {
+            // writes are not sent through the binding
+        }
+
         @Override
         public void onError(List<Value> args) {
-            if (callback != null) {
-                Callback cb = callback;
-                callback = null;
-                cb.onError(args);
-            }
+            // writes are not sent through the binding
         }
 
         @Override
@@ -0,0 +1,239 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr;
+
+import java.awt.EventQueue;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import org.netbeans.api.progress.ProgressHandle;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.Value;
+import org.praxislive.core.types.PError;
+import org.praxislive.ide.core.api.CallExecutionException;
+import org.praxislive.project.GraphBuilder;
+import org.praxislive.project.GraphElement;
+import org.praxislive.project.GraphModel;
+
+/**
+ * Evaluates a subgraph into a container as a sequence of scripts, rather than
+ * a single script, so that large graphs do not block the root for the whole
+ * build, progress can be reported, and evaluation can be cancelled between
+ * batches.
+ * <p>
+ * Any commands in the subgraph are evaluated first, followed by the children
+ * of the subgraph in order, in batches of around {@link #BATCH_SIZE}
+ * components including their descendants, followed by the connections. A
+ * subgraph with no more than {@link #BATCH_SIZE} components is evaluated as a
+ * single script.
+ * <p>
+ * As with a single script, errors in a batch do not stop evaluation of the
+ * following batches. All error messages are reported on completion.
+ * <p>
+ * All methods must be called on the event thread.
+ */
+final class ChunkedEval {
+
+    static final int BATCH_SIZE = Integer.getInteger("praxislive.pxr.evalbatchsize", 100);
+
+    private final PXRHelper helper;
+    private final URI workingDir;
+    private final ComponentAddress container;
+    private final List<Batch> batches;
+    private final int totalWork;
+    private final List<String> errors;
+    private final CompletableFuture<List<Value>> result;
+
+    private ProgressHandle progress;
+    private List<Value> last;
+    private boolean cancelled;
+    private int next;
+    private int done;
+
+    /**
+     * Create a chunked evaluation of the provided subgraph.
+     *
+     * @param helper PXR helper
+     * @param workingDir working directory of scripts
+     * @param container address of container to evaluate subgraph in
+     * @param model subgraph model
+     */
+    ChunkedEval(PXRHelper helper, URI workingDir, ComponentAddress container,
+            GraphModel model) {
+        this.helper = helper;
+        this.workingDir = workingDir;
+        this.container = container;
+        this.batches = new ArrayList<>();
+        this.errors = new ArrayList<>();
+        this.result = new CompletableFuture<>();
+        this.last = List.of();
+        this.totalWork = split(model);
+    }
+
+    /**
+     * Start evaluation. If a progress handle is provided, and the subgraph
+     * requires more than one batch, it will be switched to determinate mode
+     * and updated after each batch. The handle is not started or finished.
+     * <p>
+     * The returned stage completes with the result of the last batch, or
+     * exceptionally with a {@link CallExecutionException} if any batch
+     * reported errors, or a {@link CancellationException} if cancelled.
+     *
+     * @param progress progress handle, may be null
+     * @return stage completing when evaluation has finished
+     */
+    CompletionStage<List<Value>> execute(ProgressHandle progress) {
+        assert EventQueue.isDispatchThread();
+        if (next > 0) {
+            throw new IllegalStateException("Already executed");
+        }
+        if (progress != null && isChunked()) {
+            this.progress = progress;
+            progress.switchToDeterminate(totalWork);
+        }
+        evalNext();
+        return result.copy();
+    }
+
+    /**
+     * Cancel evaluation. Any batch already sent will complete, but no further
+     * batches will be sent. Components created by earlier batches are not
+     * removed.
+     */
+    void cancel() {
+        assert EventQueue.isDispatchThread();
+        cancelled = true;
+    }
+
+    /**
+     * Query whether the subgraph will be evaluated in more than one batch.
+     *
+     * @return true if chunked
+     */
+    boolean isChunked() {
+        return batches.size() > 1;
+    }
+
+    private void evalNext() {
+        if (cancelled) {
+            result.completeExceptionally(new CancellationException());
+            return;
+        }
+        if (next == batches.size()) {
+            if (errors.isEmpty()) {
+                result.complete(last);
+            } else {
+                result.completeExceptionally(new CallExecutionException(
+                        PError.of(String.join("\n", errors))));
+            }
+            return;
+        }
+        Batch batch = batches.get(next++);
+        helper.safeContextEval(workingDir, container, batch.script())
+                .whenComplete((r, ex) -> {
+                    assert EventQueue.isDispatchThread();
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                            ? ex.getCause() : ex;
+                    if (cause instanceof CallExecutionException err) {
+                        errors.add(err.error().message());
+                    } else if (cause != null) {
+                        result.completeExceptionally(cause);
+                        return;
+                    } else {
+                        last = r;
+                    }
+                    done += batch.work();
+                    if (progress != null) {
+                        progress.progress(done);
+                    }
+                    evalNext();
+                });
+    }
+
+    private int split(GraphModel model) {
+        GraphElement.Root root = model.root();
+        int components = root.children().values().stream()
+                .mapToInt(ChunkedEval::weight)
+                .sum();
+        // progress counts connections as well as components
+        int total = components + root.connections().size();
+        if (components <= BATCH_SIZE) {
+            batches.add(new Batch(model.writeToString(), total));
+            return total;
+        }
+        String commands = model.withTransform(r -> {
+            r.clearChildren();
+            r.clearConnections();
+        }).writeToString();
+        if (!commands.isBlank()) {
+            batches.add(new Batch(commands, 0));
+        }
+        GraphBuilder.Root builder = GraphBuilder.syntheticRoot();
+        int count = 0;
+        for (var entry : root.children().entrySet()) {
+            builder.child(entry.getKey(), entry.getValue());
+            count += weight(entry.getValue());
+            if (count >= BATCH_SIZE) {
+                batches.add(new Batch(write(builder), count));
+                builder = GraphBuilder.syntheticRoot();
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            batches.add(new Batch(write(builder), count));
+        }
+        builder = GraphBuilder.syntheticRoot();
+        count = 0;
+        for (var connection : root.connections()) {
+            builder.connection(connection);
+            count++;
+            if (count >= BATCH_SIZE) {
+                batches.add(new Batch(write(builder), count));
+                builder = GraphBuilder.syntheticRoot();
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            batches.add(new Batch(write(builder), count));
+        }
+        return total;
+    }
+
+    private String write(GraphBuilder.Root builder) {
+        return GraphModel.of(builder.build(), workingDir).writeToString();
+    }
+
+    private static int weight(GraphElement.Component component) {
+        return 1 + component.children().values().stream()
+                .mapToInt(ChunkedEval::weight)
+                .sum();
+    }
+
+    private static record Batch(String script, int work) {
+
+    }
+
+}
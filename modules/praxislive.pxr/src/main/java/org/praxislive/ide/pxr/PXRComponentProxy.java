@@ -51,6 +51,7 @@ import org.praxislive.core.ControlInfo;
 import org.praxislive.core.protocols.ComponentProtocol;
 import org.praxislive.core.types.PString;
 import org.praxislive.ide.core.api.Syncable;
+import org.praxislive.ide.core.api.SyncScheduler;
 import org.praxislive.ide.model.ComponentProxy;
 import org.praxislive.ide.properties.PraxisProperty;
 import org.praxislive.ide.pxr.api.Attributes;
@@ -60,6 +61,7 @@ import org.openide.util.Exceptions;
 import org.openide.util.Lookup;
 import org.openide.util.lookup.Lookups;
 import org.openide.windows.TopComponent;
+import org.openide.windows.WindowManager;
 import org.praxislive.base.Binding;
 import org.praxislive.core.types.PMap;
 
@@ -70,8 +72,11 @@ public class PXRComponentProxy implements ComponentProxy {
 
     private final static Logger LOG = Logger.getLogger(PXRComponentProxy.class.getName());
     private final static Registry registry = new Registry();
+    private final static boolean AGGREGATE_SYNC = Boolean.parseBoolean(
+            System.getProperty("praxislive.pxr.aggregatesync", "true"));
 
     private final Set<Object> syncKeys;
+    private final Set<Object> hiddenKeys;
     private final PropertyChangeSupport pcs;
     private final ComponentType type;
     private final boolean dynamic;
@@ -81,6 +86,7 @@ public class PXRComponentProxy implements ComponentProxy {
     PXRProxyNode node;
 
     private PXRContainerProxy parent;
+    private ComponentAddress address;
     private ComponentInfo info;
     private Lookup lookup;
     private Map<String, BoundArgumentProperty> properties;
@@ -91,9 +97,13 @@ public class PXRComponentProxy implements ComponentProxy {
     private EditorAction editorAction;
     boolean syncing;
     boolean nodeSyncing;
+    boolean nodeVisible;
     boolean parentSyncing;
+    boolean visible;
+    boolean parentVisible;
     private ValuePropertyAdaptor.ReadOnly dynInfoAdaptor;
     private ValuePropertyAdaptor.ReadOnly metaAdaptor;
+    private PropertySyncGroup syncGroup;
 
     PXRComponentProxy(PXRContainerProxy parent, ComponentType type,
             ComponentInfo info) {
@@ -101,6 +111,7 @@ public class PXRComponentProxy implements ComponentProxy {
         this.type = type;
         this.info = info;
         syncKeys = new HashSet<>();
+        hiddenKeys = new HashSet<>();
         pcs = new PropertyChangeSupport(this);
         dynamic = info.properties().getBoolean(ComponentInfo.KEY_DYNAMIC, false);
         infoProp = new InfoProperty();
@@ -163,6 +174,10 @@ public class PXRComponentProxy implements ComponentProxy {
         if (syncing) {
             setPropertiesSyncing(true);
         }
+        updatePriorities();
+        if (syncGroup != null) {
+            syncGroup.refresh();
+        }
     }
 
     private void initDynamic() {
@@ -172,23 +187,27 @@ public class PXRComponentProxy implements ComponentProxy {
             @Override
             public void propertyChange(PropertyChangeEvent evt) {
                 try {
-                    refreshInfo(ComponentInfo.from((Value) evt.getNewValue()).orElseThrow());
+                    refreshInfo(getRoot().getHelper().intern(
+                            ComponentInfo.from((Value) evt.getNewValue()).orElseThrow()));
                 } catch (Exception ex) {
                     LOG.log(Level.WARNING, "", ex);
                 }
             }
         });
-        getRoot().getHelper().bind(ControlAddress.of(getAddress(), ComponentProtocol.INFO), dynInfoAdaptor);
+        getRoot().getHelper().bind(ControlAddress.of(getAddress(), ComponentProtocol.INFO),
+                dynInfoAdaptor, SyncScheduler.Priority.BACKGROUND);
     }
 
     private void initMeta() {
         metaAdaptor = new ValuePropertyAdaptor.ReadOnly(this, ComponentProtocol.META, true, Binding.SyncRate.None);
         metaAdaptor.addPropertyChangeListener(metaProp);
-        getRoot().getHelper().bind(ControlAddress.of(getAddress(), ComponentProtocol.META), metaAdaptor);
+        getRoot().getHelper().bind(ControlAddress.of(getAddress(), ComponentProtocol.META),
+                metaAdaptor, SyncScheduler.Priority.BACKGROUND);
     }
 
+    // info is interned, so equal info is the same instance
     void refreshInfo(ComponentInfo info) {
-        if (this.info.equals(info)) {
+        if (this.info == info) {
             // should happen once on first sync?
             LOG.finest("Info is current");
             return;
@@ -207,7 +226,16 @@ public class PXRComponentProxy implements ComponentProxy {
 
     @Override
     public ComponentAddress getAddress() {
-        return parent == null ? null : parent.getAddress(this);
+        // component IDs cannot change, so cache the address while the proxy
+        // is a child of its parent
+        if (address == null && parent != null) {
+            address = parent.getAddress(this);
+        }
+        return address;
+    }
+
+    void clearAddress() {
+        address = null;
     }
 
     @Override
@@ -233,6 +261,11 @@ public class PXRComponentProxy implements ComponentProxy {
         return node;
     }
 
+    // update attributes from a cached or reconciled snapshot
+    void updateMeta(PMap meta) {
+        metaProp.update(meta);
+    }
+
     void setAttr(String key, String value) {
         metaProp.setAttribute(key, value);
     }
@@ -258,6 +291,14 @@ public class PXRComponentProxy implements ComponentProxy {
         }
     }
 
+    void firePropertyChange(PropertyChangeEvent event) {
+        pcs.firePropertyChange(event);
+        if (node != null) {
+            node.propertyChange(event.getPropertyName(),
+                    event.getOldValue(), event.getNewValue());
+        }
+    }
+
     @Override
     public CompletionStage<List<Value>> send(String control, List<Value> args) {
         try {
@@ -402,6 +443,10 @@ public class PXRComponentProxy implements ComponentProxy {
                     dynInfoAdaptor);
         }
 
+        if (syncGroup != null) {
+            syncGroup.setActive(false);
+        }
+
         if (editorAction != null && editorAction.editor != null) {
             editorAction.editor.dispose();
         }
@@ -417,14 +462,17 @@ public class PXRComponentProxy implements ComponentProxy {
         }
 
         syncing = parentSyncing = false;
+        visible = parentVisible = false;
         parent = null;
+        address = null;
         properties = null;
     }
 
-    private void setNodeSyncing(boolean sync) {
+    private void setNodeSyncing(boolean sync, boolean visible) {
         assert EventQueue.isDispatchThread();
-        if (nodeSyncing != sync) {
+        if (nodeSyncing != sync || nodeVisible != visible) {
             nodeSyncing = sync;
+            nodeVisible = visible;
             if (LOG.isLoggable(Level.FINE)) {
                 LOG.log(Level.FINE, "Setting node syncing {0} on {1}", new Object[]{sync, getAddress()});
             }
@@ -432,15 +480,17 @@ public class PXRComponentProxy implements ComponentProxy {
         }
     }
 
-    void setParentSyncing(boolean sync) {
-        if (parentSyncing != sync) {
+    void setParentSyncing(boolean sync, boolean visible) {
+        if (parentSyncing != sync || parentVisible != visible) {
             parentSyncing = sync;
+            parentVisible = visible;
             checkSyncing();
         }
     }
 
     void checkSyncing() {
         boolean toSync = nodeSyncing || !syncKeys.isEmpty();
+        visible = (nodeSyncing && nodeVisible) || !hiddenKeys.containsAll(syncKeys);
         if (toSync != syncing) {
             syncing = toSync;
             if (LOG.isLoggable(Level.FINE)) {
@@ -452,32 +502,66 @@ public class PXRComponentProxy implements ComponentProxy {
             initMeta();
         }
         if (syncing || parentSyncing) {
-            metaAdaptor.setSyncRate(Binding.SyncRate.Low);
+            getRoot().getHelper().requestSyncRate(metaAdaptor, Binding.SyncRate.Low);
         } else {
-            metaAdaptor.setSyncRate(Binding.SyncRate.None);
+            getRoot().getHelper().requestSyncRate(metaAdaptor, Binding.SyncRate.None);
         }
         if (dynamic) {
             if (dynInfoAdaptor == null) {
                 initDynamic();
             }
             if (syncing || parentSyncing) {
-                dynInfoAdaptor.setSyncRate(Binding.SyncRate.Low);
+                getRoot().getHelper().requestSyncRate(dynInfoAdaptor, Binding.SyncRate.Low);
                 if (LOG.isLoggable(Level.FINE)) {
                     LOG.log(Level.FINE, "Setting info syncing {0} on {1}", new Object[]{true, getAddress()});
                 }
             } else {
-                dynInfoAdaptor.setSyncRate(Binding.SyncRate.None);
+                getRoot().getHelper().requestSyncRate(dynInfoAdaptor, Binding.SyncRate.None);
                 if (LOG.isLoggable(Level.FINE)) {
                     LOG.log(Level.FINE, "Setting info syncing {0} on {1}", new Object[]{false, getAddress()});
                 }
             }
         }
+        updatePriorities();
+    }
+
+    // properties are visible with the component, eg. in the property sheet,
+    // while meta and info are also visible with the parent, eg. in a graph
+    private void updatePriorities() {
+        var helper = getRoot().getHelper();
+        var own = visible ? SyncScheduler.Priority.VISIBLE : SyncScheduler.Priority.BACKGROUND;
+        var shared = visible || parentVisible ? SyncScheduler.Priority.VISIBLE
+                : SyncScheduler.Priority.BACKGROUND;
+        if (metaAdaptor != null) {
+            helper.setSyncPriority(metaAdaptor, shared);
+        }
+        if (dynInfoAdaptor != null) {
+            helper.setSyncPriority(dynInfoAdaptor, shared);
+        }
+        if (properties != null) {
+            properties.values().forEach(prop -> prop.setSyncPriority(own));
+        }
+        if (syncGroup != null) {
+            syncGroup.setPriority(own);
+        }
     }
 
     private void setPropertiesSyncing(boolean sync) {
         if (properties == null) {
             return;
         }
+        if (AGGREGATE_SYNC) {
+            if (syncGroup == null) {
+                syncGroup = new PropertySyncGroup(getRoot().getHelper(),
+                        () -> properties == null ? List.of()
+                                : List.copyOf(properties.values()),
+                        () -> getRoot().isWarm());
+            }
+            syncGroup.setPriority(visible ? SyncScheduler.Priority.VISIBLE
+                    : SyncScheduler.Priority.BACKGROUND);
+            syncGroup.setActive(sync);
+            return;
+        }
         for (PraxisProperty<?> prop : properties.values()) {
             if (prop instanceof BoundArgumentProperty) {
                 ((BoundArgumentProperty) prop).setSyncing(sync);
@@ -510,11 +594,23 @@ public class PXRComponentProxy implements ComponentProxy {
                 throw new NullPointerException();
             }
             syncKeys.add(key);
+            hiddenKeys.remove(key);
             checkSyncing();
         }
 
+        @Override
+        public void setKeyVisible(Object key, boolean visible) {
+            if (!syncKeys.contains(key)) {
+                return;
+            }
+            if (visible ? hiddenKeys.remove(key) : hiddenKeys.add(key)) {
+                checkSyncing();
+            }
+        }
+
         @Override
         public void removeKey(Object key) {
+            hiddenKeys.remove(key);
             if (syncKeys.remove(key)) {
                 checkSyncing();
             }
@@ -544,7 +640,10 @@ public class PXRComponentProxy implements ComponentProxy {
 
         @Override
         public void propertyChange(PropertyChangeEvent evt) {
-            PMap newMeta = PMap.from((Value) evt.getNewValue()).orElse(PMap.EMPTY);
+            update(PMap.from((Value) evt.getNewValue()).orElse(PMap.EMPTY));
+        }
+
+        private void update(PMap newMeta) {
             PMap oldMeta = meta;
             meta = newMeta;
             if (!newMeta.equivalent(oldMeta)) {
@@ -564,10 +663,36 @@ public class PXRComponentProxy implements ComponentProxy {
 
         @Override
         public void setAttributeValue(String key, Value value) {
+            setAttributeValues(PMap.of(key, value == null ? PString.EMPTY : value));
+        }
+
+        @Override
+        public void setAttributeValues(PMap attributes) {
+            PMap.Builder changes = PMap.builder();
+            boolean changed = false;
+            for (String key : attributes.keys()) {
+                Value value = attributes.get(key);
+                Value current = meta.get(key);
+                if (value.isEmpty()) {
+                    if (current == null) {
+                        continue;
+                    }
+                    value = PString.EMPTY;
+                } else if (current != null
+                        && (value.equivalent(current) || current.equivalent(value))) {
+                    continue;
+                }
+                changes.put(key, value);
+                changed = true;
+            }
+            if (!changed) {
+                return;
+            }
             PMap oldMeta = meta;
-            PMap metaMerge = PMap.of(key, value == null ? PString.EMPTY : value);
+            PMap metaMerge = changes.build();
             meta = PMap.merge(oldMeta, metaMerge, PMap.REPLACE);
             send(ComponentProtocol.META_MERGE, List.of(metaMerge));
+            getRoot().markModified();
             pcs.firePropertyChange(ComponentProtocol.META, oldMeta, meta);
         }
 
@@ -638,6 +763,9 @@ public class PXRComponentProxy implements ComponentProxy {
 
     private static class Registry implements PropertyChangeListener {
 
+        // window ID of the platform property sheet
+        private static final String PROPERTIES_ID = "properties";
+
         private final List<PXRComponentProxy> syncing;
 
         public Registry() {
@@ -664,19 +792,37 @@ public class PXRComponentProxy implements ComponentProxy {
                     }
                     syncing.removeAll(tmp);
                     for (PXRComponentProxy cmp : syncing) {
-                        cmp.setNodeSyncing(false);
+                        cmp.setNodeSyncing(false, false);
                     }
                     syncing.clear();
                     syncing.addAll(tmp);
+                    boolean visible = isPropertySheetOpen();
                     for (PXRComponentProxy cmp : syncing) {
-                        cmp.setNodeSyncing(true);
+                        cmp.setNodeSyncing(true, visible);
                     }
                     tmp.clear();
+                } else if (TopComponent.Registry.PROP_TC_OPENED.equals(evt.getPropertyName())
+                        || TopComponent.Registry.PROP_TC_CLOSED.equals(evt.getPropertyName())) {
+                    // activated nodes are only visible while the sheet is open
+                    boolean visible = isPropertySheetOpen();
+                    for (PXRComponentProxy cmp : syncing) {
+                        cmp.setNodeSyncing(true, visible);
+                    }
                 }
             } catch (Exception e) {
                 Exceptions.printStackTrace(e);
             }
 
         }
+
+        private boolean isPropertySheetOpen() {
+            WindowManager windows = WindowManager.getDefault();
+            for (TopComponent tc : TopComponent.getRegistry().getOpened()) {
+                if (PROPERTIES_ID.equals(windows.findTopComponentID(tc))) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
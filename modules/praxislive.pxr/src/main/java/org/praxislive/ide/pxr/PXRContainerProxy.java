@@ -25,7 +25,8 @@ import java.awt.EventQueue;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -44,8 +45,10 @@ import org.praxislive.core.ComponentInfo;
 import org.praxislive.core.protocols.ContainerProtocol;
 import org.praxislive.core.types.PArray;
 import org.praxislive.ide.properties.PraxisProperty;
+import org.praxislive.ide.model.ConnectionsChangeEvent;
 import org.praxislive.ide.model.ContainerProxy;
 import org.praxislive.ide.core.api.ValuePropertyAdaptor;
+import org.praxislive.ide.core.api.SyncScheduler;
 import org.openide.nodes.Node;
 import org.praxislive.base.Binding;
 import org.praxislive.core.Connection;
@@ -72,8 +75,10 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
     );
 
     private final SequencedMap<String, PXRComponentProxy> children;
+    private final Map<PXRComponentProxy, String> childIDs;
     private final Map<String, CompletionStage<PXRComponentProxy>> pendingChildren;
     private final Set<Connection> connections;
+    private final Map<String, Set<Connection>> connectionIndex;
     private final ChildrenProperty childProp;
     private final ConnectionsProperty conProp;
     private final SupportedTypesProperty supportedTypesProp;
@@ -86,7 +91,9 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
             ComponentInfo info) {
         super(parent, type, info);
         children = new LinkedHashMap<>();
+        childIDs = new IdentityHashMap<>();
         connections = new LinkedHashSet<>();
+        connectionIndex = new HashMap<>();
         pendingChildren = new LinkedHashMap<>();
         childProp = new ChildrenProperty();
         conProp = new ConnectionsProperty();
@@ -132,6 +139,7 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
     CompletionStage<? extends PXRComponentProxy> addChild(String id, ComponentType type, PMap attrs) {
         ComponentAddress childAddress = ComponentAddress.of(getAddress(), id);
         PXRHelper helper = getRoot().getHelper();
+        getRoot().markModified();
         CompletionStage<PXRComponentProxy> stage
                 = helper.createComponent(childAddress, type)
                         .thenCompose(ad -> {
@@ -166,61 +174,236 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
         pendingChildren.put(id, stage);
     }
 
-    private PXRComponentProxy addChildProxy(String id, PMap data, PMap attrs) {
+    // called from listener for multiple pre-existing children - fetch the
+    // serialized data of just these children in one call rather than one each
+    private void addChildProxies(List<String> ids) {
+        PXRHelper helper = getRoot().getHelper();
+        CompletionStage<Void> stage = helper.childrenData(getAddress(), ids)
+                .handle((data, ex) -> {
+                    assert EventQueue.isDispatchThread();
+                    ids.forEach(pendingChildren::remove);
+                    if (ex != null) {
+                        // fall back to fetching each child
+                        LOG.log(Level.FINE, "Unable to fetch data for children", ex);
+                        addChildProxies(ids, Map.of());
+                    } else {
+                        addChildProxies(ids, data);
+                    }
+                    return null;
+                });
+        ids.forEach(id -> pendingChildren.put(id, stage.thenApply(v -> children.get(id))));
+    }
+
+    private void addChildProxies(List<String> ids, Map<String, PMap> data) {
+        if (childrenAdaptor == null) {
+            // disposed while waiting for data
+            return;
+        }
+        // not serialized, eg. removed and re-added meanwhile
+        createChildProxies(ids, data).forEach(this::addChildProxy);
+    }
+
+    // create proxies for the children with serialized data, and return the IDs
+    // of those without
+    List<String> createChildProxies(List<String> ids, Map<String, PMap> data) {
+        List<String> missing = new ArrayList<>();
+        boolean added = false;
+        for (String id : ids) {
+            if (children.containsKey(id) || pendingChildren.containsKey(id)) {
+                continue;
+            }
+            PMap childData = data.get(id);
+            if (childData == null) {
+                missing.add(id);
+            } else {
+                createChildProxy(id, childData, PMap.EMPTY);
+                added = true;
+            }
+        }
+        if (added) {
+            if (node != null) {
+                node.refreshChildren();
+            }
+            firePropertyChange(ContainerProtocol.CHILDREN, null, null);
+        }
+        return missing;
+    }
+
+    PXRComponentProxy addChildProxy(String id, PMap data, PMap attrs) {
+        PXRComponentProxy child = createChildProxy(id, data, attrs);
+        if (node != null) {
+            node.refreshChildren();
+        }
+        firePropertyChange(ContainerProtocol.CHILDREN, null, null);
+        return child;
+    }
+
+    private PXRComponentProxy createChildProxy(String id, PMap data, PMap attrs) {
         ComponentInfo info = ComponentInfo.from(data.get("%info")).orElseThrow();
+        PXRHelper helper = getRoot().getHelper();
+        if (helper != null) {
+            info = helper.intern(info);
+        }
         ComponentType type = ComponentType.from(data.get("%type")).orElseThrow();
+        return createChildProxy(id, type, info, attrs);
+    }
+
+    private PXRComponentProxy createChildProxy(String id, ComponentType type,
+            ComponentInfo info, PMap attrs) {
         PXRComponentProxy child;
         if (isContainer(info)) {
             child = new PXRContainerProxy(PXRContainerProxy.this, type, info);
         } else {
             child = new PXRComponentProxy(PXRContainerProxy.this, type, info);
         }
-        children.put(id, child);
+        PXRComponentProxy existing = children.put(id, child);
+        if (existing != null) {
+            childIDs.remove(existing);
+        }
+        childIDs.put(child, id);
         attrs.keys().forEach(k -> child.setAttr(k, attrs.getString(k, null)));
         if (syncing) {
-            child.setParentSyncing(true);
+            child.setParentSyncing(true, visible);
+        }
+        return child;
+    }
+
+    private boolean isContainer(ComponentInfo info) {
+        return info.hasProtocol(ContainerProtocol.class);
+    }
+
+    /**
+     * Populate this container from a cached snapshot, before the live tree is
+     * available.
+     *
+     * @param snapshot cached snapshot of this container
+     */
+    void warmStart(ProxyCache.Node snapshot) {
+        updateMeta(snapshot.meta());
+        snapshot.children().forEach((id, childSnapshot) -> {
+            if (!children.containsKey(id)) {
+                buildChildProxy(id, childSnapshot);
+            }
+        });
+        Set<Connection> added = new LinkedHashSet<>();
+        snapshot.connections().forEach(con -> {
+            if (addConnection(con)) {
+                added.add(con);
+            }
+        });
+        fireConnectionsChange(added, Set.of());
+        if (node != null) {
+            node.refreshChildren();
         }
+        firePropertyChange(ContainerProtocol.CHILDREN, null, null);
+    }
+
+    /**
+     * Update this container and its descendants to match a snapshot of the
+     * live tree, replacing any children whose type has changed.
+     *
+     * @param snapshot live snapshot of this container
+     */
+    void reconcile(ProxyCache.Node snapshot) {
+        updateMeta(snapshot.meta());
+        refreshInfo(snapshot.info());
+        List<String> removed = children.keySet().stream()
+                .filter(id -> !snapshot.children().containsKey(id))
+                .toList();
+        if (!removed.isEmpty()) {
+            removeChildProxies(removed);
+        }
+        snapshot.children().forEach((id, childSnapshot) -> {
+            PXRComponentProxy child = children.get(id);
+            if (child != null && (!child.getType().equals(childSnapshot.type())
+                    || isContainer(child.getInfo()) != isContainer(childSnapshot.info()))) {
+                removeChildProxies(List.of(id));
+                child = null;
+            }
+            if (child == null) {
+                if (!pendingChildren.containsKey(id)) {
+                    buildChildProxy(id, childSnapshot);
+                }
+            } else {
+                children.putLast(id, child);
+                if (child instanceof PXRContainerProxy container) {
+                    container.reconcile(childSnapshot);
+                } else {
+                    child.updateMeta(childSnapshot.meta());
+                    child.refreshInfo(childSnapshot.info());
+                }
+            }
+        });
+        updateConnections(new LinkedHashSet<>(snapshot.connections()));
         if (node != null) {
             node.refreshChildren();
         }
         firePropertyChange(ContainerProtocol.CHILDREN, null, null);
-        return child;
     }
 
-    private boolean isContainer(ComponentInfo info) {
-        return info.hasProtocol(ContainerProtocol.class);
+    private void buildChildProxy(String id, ProxyCache.Node snapshot) {
+        // info read from the cache is not interned
+        PXRComponentProxy child = createChildProxy(id, snapshot.type(),
+                getRoot().getHelper().intern(snapshot.info()), PMap.EMPTY);
+        if (child instanceof PXRContainerProxy container) {
+            container.warmStart(snapshot);
+        } else {
+            child.updateMeta(snapshot.meta());
+        }
+    }
+
+    void updateConnections(Set<Connection> updated) {
+        if (connections.equals(updated)) {
+            LOG.fine("Connections change reported but we're up to date.");
+        } else {
+            LOG.fine("Connections change reported - updating.");
+            Set<Connection> removed = new LinkedHashSet<>();
+            for (Connection con : List.copyOf(connections)) {
+                if (!updated.contains(con)) {
+                    removeConnection(con);
+                    removed.add(con);
+                }
+            }
+            Set<Connection> added = new LinkedHashSet<>();
+            for (Connection con : updated) {
+                if (addConnection(con)) {
+                    added.add(con);
+                }
+            }
+            fireConnectionsChange(added, removed);
+        }
     }
 
     @Override
     public CompletionStage<?> removeChild(final String id) {
         ComponentAddress childAddress = ComponentAddress.of(getAddress(), id);
+        getRoot().markModified();
         return getRoot().getHelper().removeComponent(childAddress)
                 .thenRun(() -> {
                     removeChildProxies(List.of(id));
                 });
     }
 
-    private void removeChildProxies(List<String> ids) {
-        boolean conChanged = false;
+    void removeChildProxies(List<String> ids) {
+        Set<Connection> removedConnections = new LinkedHashSet<>();
         for (String id : ids) {
             PXRComponentProxy child = children.get(id); // dispose needs child in map
             if (child != null) {
                 child.dispose();
+                child.clearAddress();
             }
             children.remove(id);
-            Iterator<Connection> itr = connections.iterator();
-            while (itr.hasNext()) {
-                Connection con = itr.next();
-                if (con.sourceComponent().equals(id)
-                        || con.targetComponent().equals(id)) {
-                    itr.remove();
-                    conChanged = true;
-                }
+            childIDs.remove(child);
+            Set<Connection> childConnections = connectionIndex.get(id);
+            if (childConnections != null) {
+                List.copyOf(childConnections).forEach(con -> {
+                    if (removeConnection(con)) {
+                        removedConnections.add(con);
+                    }
+                });
             }
         }
-        if (conChanged) {
-            firePropertyChange(ContainerProtocol.CONNECTIONS, null, null);
-        }
+        fireConnectionsChange(Set.of(), removedConnections);
         if (node != null) {
             node.refreshChildren();
         }
@@ -229,10 +412,12 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
 
     @Override
     public CompletionStage<Connection> connect(final Connection connection) {
+        getRoot().markModified();
         return getRoot().getHelper().connect(getAddress(), connection)
                 .thenApply(c -> {
-                    connections.add(c);
-                    firePropertyChange(ContainerProtocol.CONNECTIONS, null, null);
+                    if (addConnection(c)) {
+                        fireConnectionsChange(Set.of(c), Set.of());
+                    }
                     return c;
                 });
 
@@ -240,11 +425,12 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
 
     @Override
     public CompletionStage<?> disconnect(final Connection connection) {
-
+        getRoot().markModified();
         return getRoot().getHelper().disconnect(getAddress(), connection)
                 .thenApply(c -> {
-                    connections.remove(c);
-                    firePropertyChange(ContainerProtocol.CONNECTIONS, null, null);
+                    if (removeConnection(c)) {
+                        fireConnectionsChange(Set.of(), Set.of(c));
+                    }
                     return c;
                 });
 
@@ -267,13 +453,7 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
     }
 
     String getChildID(PXRComponentProxy child) {
-        Set<Map.Entry<String, PXRComponentProxy>> entries = children.entrySet();
-        for (Map.Entry<String, PXRComponentProxy> entry : entries) {
-            if (entry.getValue() == child) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        return childIDs.get(child);
     }
 
     @Override
@@ -281,6 +461,50 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
         return connections.stream();
     }
 
+    @Override
+    public Stream<Connection> connections(String childID) {
+        Set<Connection> cons = connectionIndex.get(childID);
+        return cons == null ? Stream.empty() : cons.stream();
+    }
+
+    private boolean addConnection(Connection connection) {
+        if (connections.add(connection)) {
+            connectionIndex.computeIfAbsent(connection.sourceComponent(),
+                    id -> new LinkedHashSet<>()).add(connection);
+            connectionIndex.computeIfAbsent(connection.targetComponent(),
+                    id -> new LinkedHashSet<>()).add(connection);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private boolean removeConnection(Connection connection) {
+        if (connections.remove(connection)) {
+            unindex(connection.sourceComponent(), connection);
+            unindex(connection.targetComponent(), connection);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private void unindex(String childID, Connection connection) {
+        Set<Connection> cons = connectionIndex.get(childID);
+        if (cons != null) {
+            cons.remove(connection);
+            if (cons.isEmpty()) {
+                connectionIndex.remove(childID);
+            }
+        }
+    }
+
+    private void fireConnectionsChange(Set<Connection> added, Set<Connection> removed) {
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            firePropertyChange(new ConnectionsChangeEvent(this, added, removed));
+        }
+    }
+
     @Override
     protected boolean isProxiedProperty(String id) {
         return super.isProxiedProperty(id) || PROXY_PROPERTIES.contains(id);
@@ -296,16 +520,21 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
                 return;
             }
         }
+        var helper = getRoot().getHelper();
         if (syncing) {
-            childrenAdaptor.setSyncRate(Binding.SyncRate.Medium);
-            connectionsAdaptor.setSyncRate(Binding.SyncRate.Medium);
-            typesAdaptor.setSyncRate(Binding.SyncRate.Low);
-            children.forEach((id, child) -> child.setParentSyncing(true));
+            helper.requestSyncRate(childrenAdaptor, Binding.SyncRate.Medium);
+            helper.requestSyncRate(connectionsAdaptor, Binding.SyncRate.Medium);
+            helper.requestSyncRate(typesAdaptor, Binding.SyncRate.Low);
+            var priority = visible ? SyncScheduler.Priority.VISIBLE
+                    : SyncScheduler.Priority.BACKGROUND;
+            helper.setSyncPriority(childrenAdaptor, priority);
+            helper.setSyncPriority(connectionsAdaptor, priority);
+            children.forEach((id, child) -> child.setParentSyncing(true, visible));
         } else {
-            childrenAdaptor.setSyncRate(Binding.SyncRate.None);
-            connectionsAdaptor.setSyncRate(Binding.SyncRate.None);
-            typesAdaptor.setSyncRate(Binding.SyncRate.None);
-            children.forEach((id, child) -> child.setParentSyncing(false));
+            helper.requestSyncRate(childrenAdaptor, Binding.SyncRate.None);
+            helper.requestSyncRate(connectionsAdaptor, Binding.SyncRate.None);
+            helper.requestSyncRate(typesAdaptor, Binding.SyncRate.None);
+            children.forEach((id, child) -> child.setParentSyncing(false, false));
         }
     }
 
@@ -324,15 +553,19 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
         getRoot().getHelper().bind(ControlAddress.of(getAddress(),
                 ContainerProtocol.CONNECTIONS), connectionsAdaptor);
         getRoot().getHelper().bind(ControlAddress.of(getAddress(), SUPPORTED_TYPES),
-                typesAdaptor);
+                typesAdaptor, SyncScheduler.Priority.BACKGROUND);
     }
 
     @Override
     void dispose() {
         for (PXRComponentProxy child : children.values()) {
             child.dispose();
+            child.clearAddress();
         }
         children.clear();
+        childIDs.clear();
+        connections.clear();
+        connectionIndex.clear();
         if (childrenAdaptor != null) {
             getRoot().getHelper().unbind(ControlAddress.of(getAddress(),
                     ContainerProtocol.CHILDREN), childrenAdaptor);
@@ -351,6 +584,85 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
         super.dispose();
     }
 
+    /**
+     * Update this container and its descendants from the values last synced by
+     * the live children and connections bindings, when a snapshot of the live
+     * tree is not available. Bindings that have not synced yet are left to
+     * update on their first sync.
+     */
+    void refreshLive() {
+        if (childrenAdaptor == null) {
+            return;
+        }
+        Value ids = childrenAdaptor.getValue();
+        if (!ids.isEmpty()) {
+            childrenChanged(ids);
+        }
+        Value cons = connectionsAdaptor.getValue();
+        if (!cons.isEmpty()) {
+            connectionsChanged(cons);
+        }
+        children.values().forEach(child -> {
+            if (child instanceof PXRContainerProxy container) {
+                container.refreshLive();
+            }
+        });
+    }
+
+    private void connectionsChanged(Value value) {
+        try {
+            updateConnections(parseConnections(value));
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Invalid Connection list", ex);
+        }
+    }
+
+    private void childrenChanged(Value value) {
+        try {
+            Set<String> ids = parseChildIDs(value);
+            List<String> added = new ArrayList<>();
+            ids.forEach(id -> {
+                PXRComponentProxy child = children.get(id);
+                if (child != null) {
+                    children.putLast(id, child);
+                } else if (!pendingChildren.containsKey(id)) {
+                    added.add(id);
+                }
+
+            });
+            if (added.size() == 1) {
+                addChildProxy(added.get(0));
+            } else if (!added.isEmpty()) {
+                addChildProxies(added);
+            }
+            List<String> removed = children.keySet().stream()
+                    .filter(id -> !ids.contains(id))
+                    .toList();
+            if (!removed.isEmpty()) {
+                removeChildProxies(removed);
+            } else {
+                if (node != null) {
+                    node.refreshChildren();
+                }
+                firePropertyChange(CHILDREN, null, null);
+            }
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Invalid Children list", ex);
+        }
+    }
+
+    static Set<Connection> parseConnections(Value value) throws Exception {
+        return new LinkedHashSet<>(PArray.from(value)
+                .orElseThrow()
+                .asListOf(Connection.class));
+    }
+
+    static Set<String> parseChildIDs(Value value) throws Exception {
+        return new LinkedHashSet<>(PArray.from(value)
+                .orElseThrow()
+                .asListOf(String.class));
+    }
+
     private class ChildrenProperty extends PraxisProperty<PArray> {
 
         private ChildrenProperty() {
@@ -393,25 +705,11 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
 
         @Override
         public void propertyChange(PropertyChangeEvent evt) {
-            try {
-                Set<Connection> updated = eventToConnections(evt);
-                if (connections.equals(updated)) {
-                    LOG.fine("Connections change reported but we're up to date.");
-                } else {
-                    LOG.fine("Connections change reported - updating.");
-                    connections.clear();
-                    connections.addAll(updated);
-                    firePropertyChange(ContainerProtocol.CONNECTIONS, null, null);
-                }
-            } catch (Exception ex) {
-                LOG.log(Level.WARNING, "Invalid Connection list", ex);
+            if (getRoot().isWarm()) {
+                // cached connections are reconciled once the root is built
+                return;
             }
-        }
-
-        private Set<Connection> eventToConnections(PropertyChangeEvent evt) throws Exception {
-            return new LinkedHashSet<>(PArray.from((Value) evt.getNewValue())
-                    .orElseThrow()
-                    .asListOf(Connection.class));
+            connectionsChanged((Value) evt.getNewValue());
         }
 
     }
@@ -420,38 +718,11 @@ public class PXRContainerProxy extends PXRComponentProxy implements ContainerPro
 
         @Override
         public void propertyChange(PropertyChangeEvent evt) {
-            try {
-                Set<String> childIDs = eventToChildIDs(evt);
-                childIDs.forEach(id -> {
-                    PXRComponentProxy child = children.get(id);
-                    if (child != null) {
-                        children.putLast(id, child);
-                    } else if (!pendingChildren.containsKey(id)) {
-                        addChildProxy(id);
-                    }
-
-                });
-                List<String> removed = children.keySet().stream()
-                        .filter(id -> !childIDs.contains(id))
-                        .toList();
-                if (!removed.isEmpty()) {
-                    removeChildProxies(removed);
-                } else {
-                    if (node != null) {
-                        node.refreshChildren();
-                    }
-                    firePropertyChange(CHILDREN, null, null);
-                }
-            } catch (Exception ex) {
-                LOG.log(Level.WARNING, "Invalid Children list", ex);
-
+            if (getRoot().isWarm()) {
+                // cached children are reconciled once the root is built
+                return;
             }
-        }
-
-        private Set<String> eventToChildIDs(PropertyChangeEvent evt) throws Exception {
-            return new LinkedHashSet<>(PArray.from((Value) evt.getNewValue())
-                    .orElseThrow()
-                    .asListOf(String.class));
+            childrenChanged((Value) evt.getNewValue());
         }
 
     }
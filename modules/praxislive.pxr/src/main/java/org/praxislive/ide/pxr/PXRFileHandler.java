@@ -26,17 +26,25 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.swing.SwingUtilities;
 import org.netbeans.api.actions.Openable;
+import org.netbeans.api.progress.ProgressHandle;
 import org.praxislive.ide.core.api.Callback;
 import org.praxislive.ide.project.api.ExecutionLevel;
 import org.praxislive.ide.project.spi.FileHandler;
 import org.praxislive.ide.project.api.PraxisProject;
 import org.praxislive.ide.model.RootProxy;
+import org.openide.DialogDisplayer;
+import org.openide.NotifyDescriptor;
 import org.openide.loaders.DataObject;
 import org.openide.loaders.DataObjectNotFoundException;
 import org.openide.util.Exceptions;
+import org.openide.util.NbBundle.Messages;
 import org.openide.util.RequestProcessor;
 import org.openide.util.lookup.ServiceProvider;
 import org.praxislive.core.ComponentAddress;
@@ -50,15 +58,26 @@ import org.praxislive.project.GraphModel;
 /**
  *
  */
+@Messages({
+    "# {0} - file name",
+    "MSG_RecoverUnsaved=Unsaved changes to {0} were found from a previous session. Recover them?",
+    "TITLE_RecoverUnsaved=Recover Unsaved Changes",
+    "# {0} - root address",
+    "LBL_BuildProgress=Building {0}"
+})
 public class PXRFileHandler implements FileHandler {
 
-    private static final RequestProcessor RP = new RequestProcessor();
+    private static final Logger LOG = Logger.getLogger(PXRFileHandler.class.getName());
+    private static final RequestProcessor RP = new RequestProcessor(PXRFileHandler.class.getName(),
+            Runtime.getRuntime().availableProcessors());
 
     private final PraxisProject project;
     private final PXRDataObject source;
     private final List<String> warnings;
 
     private Callback callback;
+    private CompletableFuture<Parsed> prepared;
+    private long preparedModified;
 
     public PXRFileHandler(PraxisProject project, PXRDataObject source) {
         if (project == null || source == null) {
@@ -69,6 +88,15 @@ public class PXRFileHandler implements FileHandler {
         warnings = new ArrayList<>();
     }
 
+    @Override
+    public void prepare() throws Exception {
+        if (prepared == null
+                && PXRRootRegistry.findRootForFile(source.getPrimaryFile()) == null) {
+            prepared = CompletableFuture.supplyAsync(this::parse, RP);
+            preparedModified = lastModified();
+        }
+    }
+
     @Override
     public void process(final Callback callback) throws Exception {
         if (callback == null) {
@@ -80,25 +108,62 @@ public class PXRFileHandler implements FileHandler {
         RootProxy root = PXRRootRegistry.findRootForFile(source.getPrimaryFile());
         if (root != null) {
             // already built
+            prepared = null;
             callback.onReturn(List.of());
             return;
         }
 
-        RP.execute(() -> {
-            try {
-                String script = source.getPrimaryFile().asText();
-                URI context = project.getProjectDirectory().toURI();
-                GraphModel model = GraphModel.parse(context, script);
-                SwingUtilities.invokeLater(() -> {
-                    build(context, model);
-                });
-            } catch (Exception ex) {
-                Exceptions.printStackTrace(ex);
-                SwingUtilities.invokeLater(() -> {
-                    callback.onError(List.of(PError.of(ex)));
-                });
+        // handlers are reused across executions, so a parse prepared for an
+        // execution that was cancelled or failed may be out of date
+        CompletableFuture<Parsed> parsed = prepared;
+        prepared = null;
+        if (parsed != null && preparedModified != lastModified()) {
+            parsed.cancel(false);
+            parsed = null;
+        }
+        if (parsed == null) {
+            parsed = CompletableFuture.supplyAsync(this::parse, RP);
+        }
+        parsed.whenComplete((p, ex) -> SwingUtilities.invokeLater(() -> {
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause() : ex;
+                Exceptions.printStackTrace(cause);
+                callback.onError(List.of(PError.of(cause instanceof Exception e
+                        ? e : new Exception(cause))));
+            } else {
+                build(p);
             }
-        });
+        }));
+    }
+
+    private long lastModified() {
+        return source.getPrimaryFile().lastModified().getTime();
+    }
+
+    // read and parse off the event thread - may run in parallel with other files
+    private Parsed parse() {
+        try {
+            String script = source.getPrimaryFile().asText();
+            URI context = project.getProjectDirectory().toURI();
+            GraphModel model = GraphModel.parse(context, script);
+            String sourceHash = ProxyCache.hash(script);
+            Optional<ProxyCache.Node> cached = ProxyCache.read(project,
+                    source.getPrimaryFile(), sourceHash);
+            Optional<GraphModel> recovered = RecoveryJournal.read(project,
+                    source.getPrimaryFile(), sourceHash)
+                    .flatMap(content -> {
+                        try {
+                            return Optional.of(GraphModel.parse(context, content));
+                        } catch (Exception ex) {
+                            LOG.log(Level.FINE, "Unable to parse recovered root", ex);
+                            return Optional.empty();
+                        }
+                    });
+            return new Parsed(context, model, sourceHash, cached, recovered);
+        } catch (Exception ex) {
+            throw new CompletionException(ex);
+        }
     }
 
     @Override
@@ -106,7 +171,17 @@ public class PXRFileHandler implements FileHandler {
         return warnings;
     }
 
-    private void build(URI context, GraphModel fileModel) {
+    private void build(Parsed parsed) {
+        URI context = parsed.context();
+        String sourceHash = parsed.sourceHash();
+        boolean recovered = parsed.recovered().isPresent() && confirmRecovery();
+        if (parsed.recovered().isPresent() && !recovered) {
+            RecoveryJournal.discard(project, source.getPrimaryFile());
+        }
+        GraphModel fileModel = recovered ? parsed.recovered().get() : parsed.model();
+        // the cache only matches the file content
+        Optional<ProxyCache.Node> cached = recovered ? Optional.empty() : parsed.cached();
+        long start = System.nanoTime();
         PXRHelper helper = project.getLookup().lookup(PXRHelper.class);
         if (helper == null) {
             throw new IllegalStateException("No PXRHelper found");
@@ -122,6 +197,13 @@ public class PXRFileHandler implements FileHandler {
         model.root().children().forEach(subBuilder::child);
         model.root().connections().forEach(subBuilder::connection);
         GraphModel sub = GraphModel.of(subBuilder.build(), context);
+        ChunkedEval subEval = new ChunkedEval(helper, context, rootAddress, sub);
+        ProgressHandle ph = subEval.isChunked()
+                ? ProgressHandle.createHandle(Bundle.LBL_BuildProgress(rootAddress), () -> {
+                    subEval.cancel();
+                    return true;
+                })
+                : null;
 
         Openable open = source.getLookup().lookup(Openable.class);
         if (open != null) {
@@ -131,15 +213,48 @@ public class PXRFileHandler implements FileHandler {
         helper.safeEval(context, root.writeToString())
                 .exceptionally(this::handleException)
                 .thenCompose(r -> helper.componentInfo(rootAddress))
-                .thenAccept(info -> {
+                .thenApply(info -> {
                     assert EventQueue.isDispatchThread();
+                    PXRRootProxy rootProxy = new PXRRootProxy(project, helper, source, rootID,
+                            model.root().type(), info);
                     project.getLookup().lookup(PXRRootRegistry.class)
-                            .register(new PXRRootProxy(project, helper, source, rootID,
-                                    model.root().type(), info));
+                            .register(rootProxy);
+                    // show the last known tree while the children are built
+                    cached.ifPresent(rootProxy::warmStart);
+                    if (recovered) {
+                        rootProxy.markModified();
+                    }
+                    return rootProxy;
                 })
-                .thenCompose(r -> helper.safeContextEval(context, rootAddress, sub.writeToString()))
-                .exceptionally(this::handleException)
-                .thenRun(() -> {
+                .thenCompose(rootProxy -> {
+                    if (ph != null) {
+                        ph.setInitialDelay(0);
+                        ph.start();
+                    }
+                    return subEval.execute(ph)
+                            .exceptionally(this::handleException)
+                            .thenApply(r -> rootProxy);
+                })
+                .exceptionally(ex -> {
+                    // root not created
+                    handleException(ex);
+                    return null;
+                })
+                .thenAccept(rootProxy -> {
+                    if (ph != null) {
+                        ph.finish();
+                    }
+                    LOG.log(Level.FINE, "Built {0} in {1} ms", new Object[]{
+                        rootID, (System.nanoTime() - start) / 1_000_000});
+                    if (rootProxy != null) {
+                        // a cancelled or failed build may be partial, so must
+                        // not be cached against the hash of the full source
+                        if (warnings.isEmpty()) {
+                            rootProxy.built(sourceHash);
+                        } else {
+                            rootProxy.buildFailed();
+                        }
+                    }
                     if (warnings.isEmpty()) {
                         callback.onReturn(List.of());
                     } else {
@@ -156,11 +271,29 @@ public class PXRFileHandler implements FileHandler {
         if (ex instanceof CallExecutionException err) {
             warnings.addAll(err.error().message().lines().toList());
             return List.of(err.error());
+        } else if (ex instanceof CancellationException) {
+            warnings.add("Build cancelled");
+            return List.of();
         } else {
+            LOG.log(Level.WARNING, "Build failed", ex);
+            warnings.add("Build failed: " + ex.getMessage());
             return List.of();
         }
     }
 
+    private boolean confirmRecovery() {
+        NotifyDescriptor nd = new NotifyDescriptor.Confirmation(
+                Bundle.MSG_RecoverUnsaved(source.getPrimaryFile().getNameExt()),
+                Bundle.TITLE_RecoverUnsaved(),
+                NotifyDescriptor.YES_NO_OPTION);
+        return NotifyDescriptor.YES_OPTION.equals(DialogDisplayer.getDefault().notify(nd));
+    }
+
+    private static record Parsed(URI context, GraphModel model, String sourceHash,
+            Optional<ProxyCache.Node> cached, Optional<GraphModel> recovered) {
+
+    }
+
     @ServiceProvider(service = FileHandler.Provider.class)
     public static class Provider implements FileHandler.Provider {
 
@@ -22,16 +22,26 @@
 package org.praxislive.ide.pxr;
 
 import java.awt.EventQueue;
+import java.lang.ref.WeakReference;
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import org.praxislive.core.Component;
 import org.praxislive.core.ComponentAddress;
 import org.praxislive.core.ComponentType;
 import org.praxislive.ide.core.spi.ExtensionProvider;
 import org.praxislive.ide.core.api.AbstractHelperComponent;
+import org.praxislive.ide.core.api.CallBatch;
+import org.praxislive.ide.core.api.Callback;
 import org.openide.util.Lookup;
+import org.openide.util.RequestProcessor;
 import org.openide.util.lookup.ServiceProvider;
 import org.praxislive.core.ComponentInfo;
 import org.praxislive.core.Connection;
@@ -39,6 +49,7 @@ import org.praxislive.core.ControlAddress;
 import org.praxislive.core.PortAddress;
 import org.praxislive.core.Value;
 import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PError;
 import org.praxislive.core.types.PMap;
 
 /**
@@ -69,27 +80,98 @@ public class PXRHelper extends AbstractHelperComponent {
                             }
                             """;
 
+    private static final RequestProcessor RP = new RequestProcessor(PXRHelper.class.getName(), 2);
+
+    private final Map<ComponentInfo, WeakReference<ComponentInfo>> infoCache;
+
+    private CallBatch writes;
+    private List<Callback> writeCallbacks;
+
     private PXRHelper() {
+        // decode serialized data and info off the event thread
+        setResponseExecutor(RP);
+        infoCache = new WeakHashMap<>();
     }
 
+    /**
+     * Queue a property write. All writes queued during the same event, such
+     * as setting a property on many selected components, are sent together
+     * as a single batch once the event has been handled, and their callbacks
+     * are completed together when all replies have arrived.
+     *
+     * @param to control to write to
+     * @param args arguments
+     * @param callback response callback
+     */
+    void queueWrite(ControlAddress to, List<Value> args, Callback callback) {
+        assert EventQueue.isDispatchThread();
+        if (writes == null) {
+            writes = new CallBatch();
+            writeCallbacks = new ArrayList<>();
+            EventQueue.invokeLater(this::sendWrites);
+        }
+        writes.add(to, args);
+        writeCallbacks.add(callback);
+    }
+
+    private void sendWrites() {
+        CallBatch batch = writes;
+        List<Callback> callbacks = writeCallbacks;
+        writes = null;
+        writeCallbacks = null;
+        sendBatch(batch).whenComplete((results, ex) -> {
+            for (int i = 0; i < callbacks.size(); i++) {
+                Callback callback = callbacks.get(i);
+                if (ex != null) {
+                    callback.onError(List.of(PError.of(ex instanceof Exception e
+                            ? e : new Exception(ex))));
+                } else if (results.get(i).isError()) {
+                    callback.onError(results.get(i).args());
+                } else {
+                    callback.onReturn(results.get(i).args());
+                }
+            }
+        });
+    }
+
+    /**
+     * Find a shared instance of the provided info, so that proxies of
+     * components with equal info, such as those of the same type, share a
+     * single instance. Shared instances are weakly referenced. Thread safe.
+     *
+     * @param info component info
+     * @return equal shared instance
+     */
+    ComponentInfo intern(ComponentInfo info) {
+        synchronized (infoCache) {
+            WeakReference<ComponentInfo> ref = infoCache.get(info);
+            ComponentInfo shared = ref == null ? null : ref.get();
+            if (shared == null) {
+                infoCache.put(info, new WeakReference<>(info));
+                shared = info;
+            }
+            return shared;
+        }
+    }
+
+    // build scripts may compile code or pull libraries - don't time out
     CompletionStage<List<Value>> safeEval(URI workingDir, String script) {
-        return execScript(ROOT_SCRIPT.formatted(workingDir, script));
+        return execScript(ROOT_SCRIPT.formatted(workingDir, script), Duration.ZERO);
     }
 
     CompletionStage<List<Value>> safeContextEval(URI workingDir, ComponentAddress address, String script) {
-        return execScript(SUB_SCRIPT.formatted(workingDir, address, script, "libraries", "shared-code-add"));
+        return execScript(SUB_SCRIPT.formatted(workingDir, address, script, "libraries", "shared-code-add"),
+                Duration.ZERO);
     }
 
+    // creating a component may compile code - don't time out
     CompletionStage<ComponentInfo> createComponentAndGetInfo(ComponentAddress address, ComponentType type) {
-        return execScript("@ " + address + " " + type + " { .info }")
-                .thenApply(result -> {
-                    assert EventQueue.isDispatchThread();
-                    return ComponentInfo.from(result.get(0)).orElseThrow();
-                });
+        return execScriptAndDecode("@ " + address + " " + type + " { .info }", Duration.ZERO,
+                result -> intern(ComponentInfo.from(result.get(0)).orElseThrow()));
     }
 
     CompletionStage<ComponentAddress> createComponent(ComponentAddress address, ComponentType type) {
-        return execScript("@ " + address + " " + type)
+        return execScript("@ " + address + " " + type, Duration.ZERO)
                 .thenApply(result -> address);
     }
 
@@ -100,8 +182,83 @@ public class PXRHelper extends AbstractHelperComponent {
         } else {
             script = "/" + address.rootID() + ".serialize [map subtree " + address + "]";
         }
-        return execScript(script)
-                .thenApply(r -> PMap.from(r.get(0)).orElseThrow());
+        // serializing large graphs may take a while - don't time out
+        return execScriptAndDecode(script, Duration.ZERO, r -> PMap.from(r.get(0)).orElseThrow());
+    }
+
+    /**
+     * Serialize multiple children of a container in a single script, rather
+     * than the whole container. Children that cannot be serialized, eg.
+     * because they have since been removed, are missing from the result. The
+     * result is decoded off the event thread, and the stage completed on the
+     * event thread.
+     *
+     * @param container container address
+     * @param ids child IDs
+     * @return stage completing with serialized data by child ID
+     */
+    CompletionStage<Map<String, PMap>> childrenData(ComponentAddress container, List<String> ids) {
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedStage(Map.of());
+        }
+        StringBuilder script = new StringBuilder("map");
+        for (String id : ids) {
+            ComponentAddress child = ComponentAddress.of(container, id);
+            script.append(' ').append(id)
+                    .append(" [try {/").append(child.rootID())
+                    .append(".serialize [map subtree ").append(child)
+                    .append("]} catch {map}]");
+        }
+        return execScriptAndDecode(script.toString(), Duration.ZERO, r -> {
+            PMap result = PMap.from(r.get(0)).orElseThrow();
+            Map<String, PMap> data = new LinkedHashMap<>();
+            for (String id : ids) {
+                Optional.ofNullable(result.get(id))
+                        .flatMap(PMap::from)
+                        .filter(m -> !m.isEmpty())
+                        .ifPresent(m -> data.put(id, m));
+            }
+            return data;
+        });
+    }
+
+    /**
+     * Serialize multiple roots in a single script. Roots that cannot be
+     * serialized are missing from the result - use
+     * {@link #componentData(org.praxislive.core.ComponentAddress)} to find the
+     * error for a root. The call does not time out, as serializing many large
+     * roots may take a while. The result is decoded off the event thread, and
+     * the stage completed on the event thread.
+     *
+     * @param roots addresses of roots
+     * @return stage completing with serialized data by root address
+     */
+    CompletionStage<Map<ComponentAddress, PMap>> serializeRoots(List<ComponentAddress> roots) {
+        if (roots.isEmpty()) {
+            return CompletableFuture.completedStage(Map.of());
+        }
+        StringBuilder script = new StringBuilder("map");
+        for (ComponentAddress root : roots) {
+            script.append(' ').append(root.rootID())
+                    .append(" [try {").append(root).append(".serialize} catch {map}]");
+        }
+        return execScriptAndDecode(script.toString(), Duration.ZERO, r -> {
+            PMap result = PMap.from(r.get(0)).orElseThrow();
+            Map<ComponentAddress, PMap> data = new LinkedHashMap<>();
+            for (ComponentAddress root : roots) {
+                Optional.ofNullable(result.get(root.rootID()))
+                        .flatMap(PMap::from)
+                        .filter(m -> !m.isEmpty())
+                        .ifPresent(m -> data.put(root, m));
+            }
+            return data;
+        });
+    }
+
+    CompletionStage<ProxyCache.Node> snapshot(ComponentAddress root) {
+        return execScriptAndDecode(root + ".serialize", Duration.ZERO,
+                r -> ProxyCache.fromSerialized(root.rootID(),
+                        PMap.from(r.get(0)).orElseThrow(), this::intern));
     }
 
     CompletionStage<ExportData> exportData(ComponentAddress address) {
@@ -114,19 +271,18 @@ public class PXRHelper extends AbstractHelperComponent {
             script += "/" + address.rootID() + ".serialize [map subtree " + address + "]";
         }
         script += "]";
-        return execScript(script)
-                .thenApply(r -> {
-                    PMap resultMap = PMap.from(r.get(0)).orElseThrow();
-                    PArray libraries = PArray.from(resultMap.get("libraries")).orElseThrow();
-                    PMap sharedCode = PMap.from(resultMap.get("shared-code")).orElseThrow();
-                    PMap data = PMap.from(resultMap.get("data")).orElseThrow();
-                    return new ExportData(libraries, sharedCode, data);
-                });
+        return execScriptAndDecode(script, Duration.ZERO, r -> {
+            PMap resultMap = PMap.from(r.get(0)).orElseThrow();
+            PArray libraries = PArray.from(resultMap.get("libraries")).orElseThrow();
+            PMap sharedCode = PMap.from(resultMap.get("shared-code")).orElseThrow();
+            PMap data = PMap.from(resultMap.get("data")).orElseThrow();
+            return new ExportData(libraries, sharedCode, data);
+        });
     }
 
     CompletionStage<ComponentInfo> componentInfo(ComponentAddress address) {
-        return send(ControlAddress.of(address, "info"), List.of())
-                .thenApply(res -> ComponentInfo.from(res.get(0)).orElseThrow());
+        return sendAndDecode(ControlAddress.of(address, "info"), List.of(),
+                res -> intern(ComponentInfo.from(res.get(0)).orElseThrow()));
     }
 
     CompletionStage<?> removeComponent(ComponentAddress address) {
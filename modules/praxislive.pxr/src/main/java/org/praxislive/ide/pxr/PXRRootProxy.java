@@ -22,6 +22,11 @@
 package org.praxislive.ide.pxr;
 
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.Timer;
 import org.praxislive.core.ComponentAddress;
 import org.praxislive.core.ComponentType;
 import org.praxislive.core.ComponentInfo;
@@ -40,6 +45,7 @@ import org.praxislive.core.protocols.StartableProtocol;
 import org.praxislive.core.types.PMap;
 import org.praxislive.ide.code.api.DynamicPaths;
 import org.praxislive.ide.core.api.Disposable;
+import org.praxislive.ide.core.api.SyncScheduler;
 import org.praxislive.ide.code.api.SharedCodeInfo;
 import org.praxislive.ide.core.api.ValuePropertyAdaptor;
 
@@ -48,11 +54,23 @@ import org.praxislive.ide.core.api.ValuePropertyAdaptor;
  */
 public class PXRRootProxy extends PXRContainerProxy implements RootProxy, Disposable {
 
+    private static final Logger LOG = Logger.getLogger(PXRRootProxy.class.getName());
+    private static final int CACHE_DELAY = 10_000;
+    private static final int SNAPSHOT_ATTEMPTS = 3;
+    private static final int SNAPSHOT_RETRY_DELAY = 2_000;
+
     private final ComponentAddress address;
     private final PXRDataObject source;
     private final PraxisProject project;
     private final PXRHelper helper;
     private final ValuePropertyAdaptor.ReadOnly runningAdaptor;
+    private final RecoveryJournal journal;
+
+    private boolean warm;
+    private boolean modified;
+    private long modCount;
+    private String savedHash;
+    private Timer cacheTimer;
 
     PXRRootProxy(PraxisProject project, PXRHelper helper, PXRDataObject source, String id,
             ComponentType type, ComponentInfo info) {
@@ -64,10 +82,12 @@ public class PXRRootProxy extends PXRContainerProxy implements RootProxy, Dispos
         if (info.hasProtocol(StartableProtocol.class)) {
             runningAdaptor = new ValuePropertyAdaptor.ReadOnly(
                     this, StartableProtocol.IS_RUNNING, true, Binding.SyncRate.Low);
-            helper.bind(ControlAddress.of(address, StartableProtocol.IS_RUNNING), runningAdaptor);
+            helper.bind(ControlAddress.of(address, StartableProtocol.IS_RUNNING),
+                    runningAdaptor, SyncScheduler.Priority.BACKGROUND);
         } else {
             runningAdaptor = null;
         }
+        journal = RecoveryJournal.start(this).orElse(null);
     }
 
     @Override
@@ -82,6 +102,17 @@ public class PXRRootProxy extends PXRContainerProxy implements RootProxy, Dispos
     @Override
     public void dispose() {
         super.dispose();
+        if (cacheTimer != null) {
+            cacheTimer.stop();
+            cacheTimer = null;
+        }
+        if (journal != null) {
+            journal.dispose();
+        }
+        if (modified) {
+            modified = false;
+            source.setModified(false);
+        }
         if (runningAdaptor != null) {
             helper.unbind(ControlAddress.of(address, StartableProtocol.IS_RUNNING),
                     runningAdaptor);
@@ -140,6 +171,197 @@ public class PXRRootProxy extends PXRContainerProxy implements RootProxy, Dispos
         };
     }
 
+    @Override
+    void warmStart(ProxyCache.Node snapshot) {
+        warm = true;
+        super.warmStart(snapshot);
+    }
+
+    /**
+     * Query whether the proxy tree is populated from the cache and not yet
+     * reconciled with the live tree. Changes reported by containers are ignored
+     * while warm.
+     *
+     * @return true if warm
+     */
+    boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Mark the root as modified by an edit made through the proxies. The
+     * source data object is marked modified, so that saving is offered.
+     */
+    void markModified() {
+        modCount++;
+        if (!modified) {
+            modified = true;
+            source.setModified(true);
+        }
+    }
+
+    /**
+     * Query whether the root has been edited since it was built or last
+     * saved.
+     *
+     * @return true if modified
+     */
+    boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * A count of edits, incremented on every call to {@link #markModified()}.
+     * Used by save to check for edits made while saving.
+     *
+     * @return edit count
+     */
+    long modCount() {
+        return modCount;
+    }
+
+    /**
+     * Hash of the file content the root was last built from or saved to, or
+     * null if not known.
+     *
+     * @return saved content hash or null
+     */
+    String savedHash() {
+        return savedHash;
+    }
+
+    /**
+     * Record a successful save. The modified state is only cleared if there
+     * have been no further edits since the provided edit count.
+     *
+     * @param hash hash of saved file content
+     * @param savedModCount edit count at the start of the save
+     */
+    void markSaved(String hash, long savedModCount) {
+        savedHash = hash;
+        if (journal != null) {
+            journal.reset();
+        }
+        if (modified && modCount == savedModCount) {
+            modified = false;
+            source.setModified(false);
+        }
+    }
+
+    /**
+     * Delete any recovery journal of unsaved edits, when the edits are
+     * intentionally abandoned.
+     */
+    void discardRecovery() {
+        if (journal != null) {
+            journal.discard();
+        }
+    }
+
+    /**
+     * Complete the build of the root from a source file. If the proxy tree was
+     * populated from the cache, it is reconciled with a snapshot of the live
+     * tree, and the cache rewritten. If no snapshot can be taken, the tree is
+     * refreshed from the live children and connections bindings instead. Otherwise the proxies are already live,
+     * and the cache is populated later in the background if the root is still
+     * unmodified, so that the extra snapshot never delays building.
+     *
+     * @param sourceHash hash of source file content the root was built from
+     * @return completion stage
+     */
+    CompletionStage<?> built(String sourceHash) {
+        savedHash = sourceHash;
+        if (warm) {
+            return reconcileWarm(sourceHash);
+        } else if (!modified) {
+            cacheTimer = new Timer(CACHE_DELAY, e -> populateCache(sourceHash));
+            cacheTimer.setRepeats(false);
+            cacheTimer.start();
+        }
+        return CompletableFuture.completedStage(null);
+    }
+
+    /**
+     * Complete a build of the root that failed or was cancelled, so that the
+     * live tree may be partial. If the proxy tree was populated from the cache,
+     * it is reconciled with the live tree as for {@link #built(String)}, but
+     * the cache is not rewritten.
+     *
+     * @return completion stage
+     */
+    CompletionStage<?> buildFailed() {
+        if (warm) {
+            return reconcileWarm(null);
+        }
+        return CompletableFuture.completedStage(null);
+    }
+
+    private CompletionStage<?> reconcileWarm(String sourceHash) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        reconcileWarm(sourceHash, SNAPSHOT_ATTEMPTS, done);
+        return done;
+    }
+
+    // reconcile the cached tree with a snapshot of the live tree, retrying a
+    // failed snapshot, and falling back to the values of the live bindings -
+    // changes reported by containers were ignored while warm. The cache is
+    // only written with a source hash.
+    private void reconcileWarm(String sourceHash, int attempts, CompletableFuture<Void> done) {
+        snapshot().thenAccept(snapshot -> {
+            if (snapshot != null) {
+                warm = false;
+                reconcile(snapshot);
+                if (sourceHash != null && !modified) {
+                    ProxyCache.write(project, getSourceFile(), sourceHash, snapshot);
+                }
+                done.complete(null);
+            } else if (!isRegistered()) {
+                // disposed while waiting
+                warm = false;
+                done.complete(null);
+            } else if (attempts > 1) {
+                Timer retry = new Timer(SNAPSHOT_RETRY_DELAY,
+                        e -> reconcileWarm(sourceHash, attempts - 1, done));
+                retry.setRepeats(false);
+                retry.start();
+            } else {
+                LOG.log(Level.WARNING, "Unable to reconcile cached proxies of {0}", address);
+                warm = false;
+                refreshLive();
+                done.complete(null);
+            }
+        });
+    }
+
+    private void populateCache(String sourceHash) {
+        cacheTimer = null;
+        // edits or saves since the build make the snapshot redundant
+        if (modified || !sourceHash.equals(savedHash)) {
+            return;
+        }
+        snapshot().thenAccept(snapshot -> {
+            if (snapshot != null && !modified && sourceHash.equals(savedHash)) {
+                ProxyCache.write(project, getSourceFile(), sourceHash, snapshot);
+            }
+        });
+    }
+
+    // snapshot of the live tree, or null on error or if disposed while waiting
+    private CompletionStage<ProxyCache.Node> snapshot() {
+        return helper.snapshot(address).handle((snapshot, ex) -> {
+            if (ex != null) {
+                LOG.log(Level.FINE, "Unable to snapshot " + address, ex);
+                return null;
+            }
+            return isRegistered() ? snapshot : null;
+        });
+    }
+
+    private boolean isRegistered() {
+        var reg = project.getLookup().lookup(PXRRootRegistry.class);
+        return reg != null && reg.getRootByID(address.rootID()) == this;
+    }
+
     @Override
     protected BoundArgumentProperty createPropertyForControl(ControlAddress address, ControlInfo info) {
         if ("shared-code".equals(address.controlID())) {
@@ -23,12 +23,12 @@ package org.praxislive.ide.pxr;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.netbeans.api.project.FileOwnerQuery;
 import org.netbeans.spi.project.ProjectServiceProvider;
 import org.openide.filesystems.FileObject;
@@ -45,26 +45,27 @@ import org.praxislive.ide.project.spi.RootRegistry;
 public class PXRRootRegistry implements RootRegistry {
 
     private final PraxisProject project;
-    private final Set<PXRRootProxy> roots;
+    private final List<PXRRootProxy> roots;
+    private final Map<String, PXRRootProxy> rootsByID;
+    private final Map<FileObject, PXRRootProxy> rootsByFile;
     private final PropertyChangeSupport pcs;
 
     public PXRRootRegistry(Lookup lookup) {
         this.project = Objects.requireNonNull(lookup.lookup(PraxisProject.class));
-        this.roots = new LinkedHashSet<>();
+        this.roots = new CopyOnWriteArrayList<>();
+        this.rootsByID = new ConcurrentHashMap<>();
+        this.rootsByFile = new ConcurrentHashMap<>();
         pcs = new PropertyChangeSupport(this);
     }
 
     @Override
     public Optional<RootProxy> find(String id) {
-        return roots.stream()
-                .filter(r -> r.getAddress().rootID().equals(id))
-                .map(RootProxy.class::cast)
-                .findFirst();
+        return Optional.ofNullable(rootsByID.get(id));
     }
 
     @Override
     public List<RootProxy> findAll() {
-        return roots.stream().collect(Collectors.toList());
+        return List.copyOf(roots);
     }
 
     @Override
@@ -81,15 +82,21 @@ public class PXRRootRegistry implements RootRegistry {
         if (root == null) {
             throw new NullPointerException();
         }
+        String id = root.getAddress().rootID();
         if (roots.contains(root)) {
             throw new IllegalArgumentException();
         }
         roots.add(root);
+        rootsByID.put(id, root);
+        rootsByFile.put(root.getSourceFile(), root);
         fireRootsChange();
     }
 
     void remove(PXRRootProxy root) {
-        roots.remove(root);
+        if (roots.remove(root)) {
+            rootsByID.remove(root.getAddress().rootID(), root);
+            rootsByFile.remove(root.getSourceFile(), root);
+        }
         fireRootsChange();
     }
 
@@ -102,18 +109,11 @@ public class PXRRootRegistry implements RootRegistry {
     }
 
     PXRRootProxy getRootByID(String id) {
-        return roots.stream()
-                .filter(r -> r.getAddress().rootID().equals(id))
-                .findFirst()
-                .orElse(null);
-
+        return rootsByID.get(id);
     }
 
     PXRRootProxy getRootByFile(FileObject file) {
-        return roots.stream()
-                .filter(r -> r.getSourceFile().equals(file))
-                .findFirst()
-                .orElse(null);
+        return rootsByFile.get(file);
     }
 
     static PXRRootProxy findRootForFile(FileObject file) {
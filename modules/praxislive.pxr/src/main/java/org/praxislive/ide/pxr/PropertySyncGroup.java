@@ -0,0 +1,216 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr;
+
+import java.awt.EventQueue;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.Timer;
+import org.praxislive.base.Binding;
+import org.praxislive.core.Value;
+import org.praxislive.core.types.PMap;
+import org.praxislive.ide.core.api.SyncScheduler;
+
+/**
+ * Syncs the values of all the properties of a component with a single script
+ * call per tick, rather than with a binding per property. The script returns a
+ * map of control ID to value, and each property is updated, firing a change
+ * event only if its value differs. A tick is skipped while the previous call
+ * is pending, or while paused, eg. while the component may not yet exist.
+ * <p>
+ * The tick rate is decided by the hub's {@link SyncScheduler}, if available,
+ * so that the calls are counted against the same budget as bindings.
+ * <p>
+ * If the script call fails, for example because a control cannot be read, the
+ * group falls back to syncing each property with its own binding until
+ * deactivated.
+ * <p>
+ * All methods must be called on the Swing event thread.
+ */
+class PropertySyncGroup {
+
+    private final static Logger LOG = Logger.getLogger(PropertySyncGroup.class.getName());
+
+    private final PXRHelper helper;
+    private final Supplier<List<BoundArgumentProperty>> properties;
+    private final BooleanSupplier paused;
+    private final Timer timer;
+    private final SyncScheduler scheduler;
+    private final Ticker ticker;
+
+    private SyncScheduler.Priority priority;
+    private boolean active;
+    private boolean fallback;
+    private boolean pending;
+
+    PropertySyncGroup(PXRHelper helper,
+            Supplier<List<BoundArgumentProperty>> properties,
+            BooleanSupplier paused) {
+        this.helper = helper;
+        this.properties = properties;
+        this.paused = paused;
+        this.timer = new Timer(delay(Binding.SyncRate.Medium), e -> tick());
+        this.timer.setInitialDelay(0);
+        this.scheduler = helper.getSyncScheduler().orElse(null);
+        this.ticker = new Ticker();
+        this.priority = SyncScheduler.Priority.BACKGROUND;
+    }
+
+    void setActive(boolean active) {
+        assert EventQueue.isDispatchThread();
+        if (this.active == active) {
+            return;
+        }
+        this.active = active;
+        fallback = false;
+        properties.get().forEach(p -> p.setSyncing(false));
+        if (active) {
+            if (scheduler != null) {
+                scheduler.register(ticker, Binding.SyncRate.Medium, priority);
+            } else {
+                setRate(Binding.SyncRate.Medium);
+            }
+        } else {
+            stopTicking();
+        }
+    }
+
+    /**
+     * Set the priority of the group's calls, eg. when the component is shown
+     * in the property sheet.
+     *
+     * @param priority sync priority
+     */
+    void setPriority(SyncScheduler.Priority priority) {
+        this.priority = priority;
+        if (scheduler != null) {
+            scheduler.setPriority(ticker, priority);
+        }
+    }
+
+    /**
+     * Update the binding state of properties after the properties have been
+     * recreated, eg. on a change of dynamic component info.
+     */
+    void refresh() {
+        boolean bindings = active && fallback;
+        properties.get().forEach(p -> p.setSyncing(bindings));
+    }
+
+    private void tick() {
+        if (!active || fallback || pending || !helper.isConnected()
+                || paused.getAsBoolean()) {
+            return;
+        }
+        List<BoundArgumentProperty> props = properties.get();
+        if (props.isEmpty()) {
+            return;
+        }
+        StringBuilder script = new StringBuilder("map");
+        for (BoundArgumentProperty prop : props) {
+            script.append(' ').append(prop.getAddress().controlID())
+                    .append(" [").append(prop.getAddress()).append(']');
+        }
+        pending = true;
+        long time = System.nanoTime();
+        helper.execScriptAndDecode(script.toString(),
+                r -> PMap.from(r.get(0)).orElseThrow())
+                .whenComplete((values, ex) -> {
+                    pending = false;
+                    if (!active) {
+                        return;
+                    }
+                    if (ex != null) {
+                        startFallback(ex);
+                    } else {
+                        update(props, values, time);
+                    }
+                });
+    }
+
+    private void update(List<BoundArgumentProperty> props, PMap values, long time) {
+        for (BoundArgumentProperty prop : props) {
+            Value value = values.get(prop.getAddress().controlID());
+            if (value != null) {
+                prop.syncValue(value, time);
+            }
+        }
+    }
+
+    private void startFallback(Throwable ex) {
+        LOG.log(Level.FINE, "Aggregated property sync failed, falling back to bindings", ex);
+        fallback = true;
+        stopTicking();
+        properties.get().forEach(p -> p.setSyncing(true));
+    }
+
+    private void stopTicking() {
+        if (scheduler != null) {
+            scheduler.unregister(ticker);
+        }
+        timer.stop();
+    }
+
+    private void setRate(Binding.SyncRate rate) {
+        int delay = delay(rate);
+        if (delay <= 0 || !active || fallback) {
+            timer.stop();
+            return;
+        }
+        timer.setDelay(delay);
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    // approximately the intervals bindings poll at
+    private static int delay(Binding.SyncRate rate) {
+        return switch (rate) {
+            case High ->
+                50;
+            case Medium ->
+                200;
+            case Low ->
+                1000;
+            default ->
+                0;
+        };
+    }
+
+    private class Ticker implements SyncScheduler.Syncer {
+
+        @Override
+        public boolean isActive() {
+            return active && !fallback;
+        }
+
+        @Override
+        public void setSyncRate(Binding.SyncRate rate) {
+            setRate(rate);
+        }
+
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SequencedMap;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.modules.Places;
+import org.openide.util.RequestProcessor;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.ComponentType;
+import org.praxislive.core.Connection;
+import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PMap;
+import org.praxislive.ide.project.api.PraxisProject;
+import org.praxislive.project.GraphElement;
+import org.praxislive.project.GraphModel;
+
+/**
+ * Persistent cache of the last known proxy tree of each root, used to build
+ * the proxies of a root immediately when its file is opened. The cached tree is
+ * reconciled against the live tree once the root is built. The cache is
+ * written on save, and in the background after a build that did not use it.
+ * <p>
+ * A snapshot holds the type, info, attributes (meta) and connections of each
+ * component, but not property values. Each distinct info is stored once. The
+ * snapshot is stored as compressed text in the user cache directory, along with
+ * a hash of the source file it corresponds to, and is only used if the source
+ * file is unchanged.
+ */
+final class ProxyCache {
+
+    private static final Logger LOG = Logger.getLogger(ProxyCache.class.getName());
+    private static final RequestProcessor RP = new RequestProcessor(ProxyCache.class);
+
+    private static final int VERSION = 1;
+    private static final String KEY_VERSION = "version";
+    private static final String KEY_SOURCE = "source";
+    private static final String KEY_INFOS = "infos";
+    private static final String KEY_ROOT = "root";
+    private static final String KEY_TYPE = "type";
+    private static final String KEY_INFO = "info";
+    private static final String KEY_META = "meta";
+    private static final String KEY_CHILDREN = "children";
+    private static final String KEY_CONNECTIONS = "connections";
+
+    private ProxyCache() {
+    }
+
+    /**
+     * Hash of the provided source file content.
+     *
+     * @param content source file content
+     * @return hash as hex string
+     */
+    static String hash(String content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Create a snapshot tree from the serialized data of a root. Should be
+     * called off the event thread.
+     *
+     * @param rootID root ID
+     * @param data serialized root data
+     * @param intern function to intern component info
+     * @return snapshot of root
+     */
+    static Node fromSerialized(String rootID, PMap data, UnaryOperator<ComponentInfo> intern) {
+        GraphModel model = GraphModel.fromSerializedRoot(rootID, data);
+        return fromSerialized(model.root(), data, intern);
+    }
+
+    private static Node fromSerialized(GraphElement.Component cmp, PMap data,
+            UnaryOperator<ComponentInfo> intern) {
+        ComponentInfo info = intern.apply(ComponentInfo.from(data.get("%info")).orElseThrow());
+        GraphElement.Property metaProp = cmp.properties().get(ComponentProtocol.META);
+        PMap meta = metaProp == null ? PMap.EMPTY
+                : PMap.from(metaProp.value()).orElse(PMap.EMPTY);
+        SequencedMap<String, Node> children = new LinkedHashMap<>();
+        cmp.children().forEach((id, child) -> {
+            PMap.from(data.get("@" + id)).ifPresent(childData
+                    -> children.put(id, fromSerialized(child, childData, intern)));
+        });
+        List<Connection> connections = cmp.connections().stream()
+                .map(c -> Connection.of(c.sourceComponent(), c.sourcePort(),
+                c.targetComponent(), c.targetPort()))
+                .toList();
+        return new Node(cmp.type(), info, meta, children, connections);
+    }
+
+    /**
+     * Read the cached snapshot of the root in the provided file, if the cache
+     * matches the provided source hash. Component info is not interned. Must
+     * not be called on the event thread.
+     *
+     * @param project project
+     * @param file root source file
+     * @param sourceHash hash of source file content
+     * @return cached snapshot of root, or empty
+     */
+    static Optional<Node> read(PraxisProject project, FileObject file, String sourceHash) {
+        Path cacheFile = cacheFile(project, file);
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(cacheFile))) {
+            PMap snapshot = PMap.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            if (snapshot.getInt(KEY_VERSION, 0) != VERSION
+                    || !sourceHash.equals(snapshot.getString(KEY_SOURCE, ""))) {
+                return Optional.empty();
+            }
+            PMap infoTable = PMap.from(snapshot.get(KEY_INFOS)).orElseThrow();
+            Map<String, ComponentInfo> infos = new HashMap<>();
+            for (String key : infoTable.keys()) {
+                infos.put(key, ComponentInfo.from(infoTable.get(key)).orElseThrow());
+            }
+            return Optional.of(decode(PMap.from(snapshot.get(KEY_ROOT)).orElseThrow(), infos));
+        } catch (Exception ex) {
+            LOG.log(Level.FINE, "Unable to read proxy cache " + cacheFile, ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Write the snapshot of the root in the provided file to the cache in the
+     * background.
+     *
+     * @param project project
+     * @param file root source file
+     * @param sourceHash hash of source file content
+     * @param root snapshot of root
+     */
+    static void write(PraxisProject project, FileObject file, String sourceHash, Node root) {
+        Path cacheFile = cacheFile(project, file);
+        RP.post(() -> {
+            Map<ComponentInfo, String> infos = new LinkedHashMap<>();
+            PMap encodedRoot = encode(root, infos);
+            PMap.Builder infoTable = PMap.builder();
+            infos.forEach((info, key) -> infoTable.put(key, info));
+            PMap snapshot = PMap.builder()
+                    .put(KEY_VERSION, VERSION)
+                    .put(KEY_SOURCE, sourceHash)
+                    .put(KEY_INFOS, infoTable.build())
+                    .put(KEY_ROOT, encodedRoot)
+                    .build();
+            try {
+                Files.createDirectories(cacheFile.getParent());
+                Path tmp = Files.createTempFile(cacheFile.getParent(), "proxies", ".tmp");
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                    out.write(snapshot.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                LOG.log(Level.FINE, "Unable to write proxy cache " + cacheFile, ex);
+            }
+        });
+    }
+
+    private static PMap encode(Node node, Map<ComponentInfo, String> infos) {
+        String infoKey = infos.computeIfAbsent(node.info(), i -> "i" + infos.size());
+        PMap.Builder children = PMap.builder();
+        node.children().forEach((id, child) -> children.put(id, encode(child, infos)));
+        return PMap.builder()
+                .put(KEY_TYPE, node.type())
+                .put(KEY_INFO, infoKey)
+                .put(KEY_META, node.meta())
+                .put(KEY_CHILDREN, children.build())
+                .put(KEY_CONNECTIONS, PArray.of(node.connections()))
+                .build();
+    }
+
+    private static Node decode(PMap data, Map<String, ComponentInfo> infos) throws Exception {
+        ComponentType type = ComponentType.from(data.get(KEY_TYPE)).orElseThrow();
+        ComponentInfo info = Objects.requireNonNull(infos.get(data.getString(KEY_INFO, "")));
+        PMap meta = PMap.from(data.get(KEY_META)).orElse(PMap.EMPTY);
+        PMap childData = PMap.from(data.get(KEY_CHILDREN)).orElse(PMap.EMPTY);
+        SequencedMap<String, Node> children = new LinkedHashMap<>();
+        for (String id : childData.keys()) {
+            children.put(id, decode(PMap.from(childData.get(id)).orElseThrow(), infos));
+        }
+        List<Connection> connections = PArray.from(data.get(KEY_CONNECTIONS))
+                .orElse(PArray.EMPTY)
+                .asListOf(Connection.class);
+        return new Node(type, info, meta, children, connections);
+    }
+
+    private static Path cacheFile(PraxisProject project, FileObject file) {
+        return cacheFile("pxr-proxies", project, file, ".gz");
+    }
+
+    /**
+     * Find a file in the provided user cache subdirectory for data relating
+     * to the provided root source file. Files are grouped by project.
+     *
+     * @param cacheDir name of cache subdirectory
+     * @param project project
+     * @param file root source file
+     * @param suffix file name suffix
+     * @return path of cache file, which may not exist
+     */
+    static Path cacheFile(String cacheDir, PraxisProject project, FileObject file, String suffix) {
+        File dir = FileUtil.toFile(project.getProjectDirectory());
+        String projectPath = dir == null ? project.getProjectDirectory().getPath()
+                : dir.getAbsolutePath();
+        String relative = FileUtil.getRelativePath(project.getProjectDirectory(), file);
+        if (relative == null) {
+            relative = file.getPath();
+        }
+        String name = file.getName().replaceAll("[^A-Za-z0-9_\\-]", "_");
+        return Places.getCacheSubdirectory(cacheDir).toPath()
+                .resolve(Integer.toHexString(projectPath.hashCode()))
+                .resolve(name + "-" + Integer.toHexString(relative.hashCode()) + suffix);
+    }
+
+    /**
+     * Snapshot of a component in the proxy tree.
+     *
+     * @param type component type
+     * @param info component info
+     * @param meta component attributes
+     * @param children child snapshots, empty if not a container
+     * @param connections child connections, empty if not a container
+     */
+    static record Node(ComponentType type,
+            ComponentInfo info,
+            PMap meta,
+            SequencedMap<String, Node> children,
+            List<Connection> connections) {
+
+    }
+
+}
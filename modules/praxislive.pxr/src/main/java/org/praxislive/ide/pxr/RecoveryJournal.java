@@ -0,0 +1,402 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr;
+
+import java.awt.EventQueue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.swing.Timer;
+import org.openide.filesystems.FileObject;
+import org.openide.util.RequestProcessor;
+import org.praxislive.core.Value;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PString;
+import org.praxislive.ide.project.api.PraxisProject;
+import org.praxislive.project.GraphModel;
+
+/**
+ * Background journal of the live state of an edited root, allowing unsaved
+ * edits to be recovered if the IDE or hub exits without saving.
+ * <p>
+ * While the root is modified, its serialized data is captured at a regular
+ * interval, set in seconds by the {@code praxislive.pxr.recoveryinterval}
+ * system property (default 15, zero or less to disable), skipping intervals
+ * without further edits. Unedited roots are never captured, so idle roots send
+ * no calls and leave no journal. The first capture after the root is built or
+ * saved is written as a full record. Following captures are appended as
+ * records of the top level entries of the serialized data that have been
+ * added, changed or removed, and captures without changes write nothing. The
+ * journal is compacted into a single full record after
+ * {@link #COMPACT_RECORDS} records. Each record is compressed, and prefixed
+ * with its length, so that a partially written record at the end of the
+ * journal is ignored on recovery.
+ * <p>
+ * The journal is deleted when the root is saved, or disposed without
+ * unsaved edits. Capture only sends a serialize call on the event thread -
+ * diffing and writing happen in the background.
+ */
+final class RecoveryJournal {
+
+    static final int COMPACT_RECORDS = 32;
+
+    private static final Logger LOG = Logger.getLogger(RecoveryJournal.class.getName());
+    // single thread, so writes, resets and deletes happen in order
+    private static final RequestProcessor RP = new RequestProcessor(RecoveryJournal.class);
+    private static final int INTERVAL = Integer.getInteger("praxislive.pxr.recoveryinterval", 15);
+
+    private static final String CACHE_DIR = "pxr-recovery";
+    private static final String SUFFIX = ".journal";
+    private static final String KEY_SOURCE = "source";
+    private static final String KEY_ROOT = "root";
+    private static final String KEY_TIME = "time";
+    private static final String KEY_DATA = "data";
+    private static final String KEY_PUT = "put";
+    private static final String KEY_REMOVE = "remove";
+
+    private final PXRRootProxy root;
+    private final Path file;
+    private final Timer timer;
+
+    // event thread state
+    private boolean capturing;
+    private boolean disposed;
+    private long capturedModCount;
+
+    // background state
+    private PMap last;
+    private String lastSource;
+    private boolean journaled;
+    private int records;
+
+    private RecoveryJournal(PXRRootProxy root, Path file) {
+        this.root = root;
+        this.file = file;
+        this.timer = new Timer((int) TimeUnit.SECONDS.toMillis(INTERVAL), e -> capture());
+    }
+
+    /**
+     * Create and start a journal for the provided root, unless disabled.
+     *
+     * @param root root proxy
+     * @return journal, or empty if disabled
+     */
+    static Optional<RecoveryJournal> start(PXRRootProxy root) {
+        if (INTERVAL <= 0 || root.getProject() == null) {
+            return Optional.empty();
+        }
+        RecoveryJournal journal = new RecoveryJournal(root,
+                ProxyCache.cacheFile(CACHE_DIR, root.getProject(),
+                        root.getSourceFile(), SUFFIX));
+        journal.timer.start();
+        return Optional.of(journal);
+    }
+
+    /**
+     * Read the journal of the root in the provided file, if there is one
+     * matching the provided source hash, and render the recovered state as
+     * file content. Must not be called on the event thread.
+     *
+     * @param project project
+     * @param file root source file
+     * @param sourceHash hash of source file content
+     * @return recovered file content, or empty
+     */
+    static Optional<String> read(PraxisProject project, FileObject file, String sourceHash) {
+        if (INTERVAL <= 0) {
+            return Optional.empty();
+        }
+        Path journalFile = ProxyCache.cacheFile(CACHE_DIR, project, file, SUFFIX);
+        if (!Files.isRegularFile(journalFile)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(journalFile))) {
+            PMap header = readRecord(in);
+            if (header == null || !sourceHash.equals(header.getString(KEY_SOURCE, ""))) {
+                return Optional.empty();
+            }
+            String rootID = header.getString(KEY_ROOT, "root");
+            PMap data = PMap.from(header.get(KEY_DATA)).orElseThrow();
+            PMap record;
+            while ((record = readRecord(in)) != null) {
+                data = apply(data, record);
+            }
+            return Optional.of(GraphModel.fromSerializedRoot(rootID, data)
+                    .withContext(file.getParent().toURI())
+                    .writeToString());
+        } catch (Exception ex) {
+            LOG.log(Level.FINE, "Unable to read recovery journal " + journalFile, ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Delete any journal of the root in the provided file.
+     *
+     * @param project project
+     * @param file root source file
+     */
+    static void discard(PraxisProject project, FileObject file) {
+        Path journalFile = ProxyCache.cacheFile(CACHE_DIR, project, file, SUFFIX);
+        RP.post(() -> delete(journalFile));
+    }
+
+    /**
+     * Reset the journal after the root is saved. The journal file is deleted,
+     * and the next capture will be written as a full record.
+     */
+    void reset() {
+        assert EventQueue.isDispatchThread();
+        RP.post(() -> {
+            last = null;
+            lastSource = null;
+            journaled = false;
+            records = 0;
+            delete(file);
+        });
+    }
+
+    /**
+     * Stop capturing. The journal file is deleted unless the root has unsaved
+     * edits.
+     */
+    void dispose() {
+        assert EventQueue.isDispatchThread();
+        if (root.isModified()) {
+            disposed = true;
+            timer.stop();
+        } else {
+            discard();
+        }
+    }
+
+    /**
+     * Stop capturing and delete the journal file, when unsaved edits are
+     * intentionally abandoned.
+     */
+    void discard() {
+        assert EventQueue.isDispatchThread();
+        disposed = true;
+        timer.stop();
+        reset();
+    }
+
+    private void capture() {
+        if (disposed || capturing || !root.isModified()
+                || root.modCount() == capturedModCount) {
+            return;
+        }
+        capturing = true;
+        long modCount = root.modCount();
+        String source = root.savedHash();
+        String rootID = root.getAddress().rootID();
+        root.getHelper().componentData(root.getAddress())
+                .whenComplete((data, ex) -> {
+                    capturing = false;
+                    if (ex != null) {
+                        LOG.log(Level.FINE, "Unable to capture " + root.getAddress(), ex);
+                        return;
+                    }
+                    if (disposed || source == null) {
+                        return;
+                    }
+                    capturedModCount = modCount;
+                    RP.post(() -> append(rootID, source, data));
+                });
+    }
+
+    private void append(String rootID, String source, PMap data) {
+        boolean first = last == null || !source.equals(lastSource);
+        PMap diff = first ? null : diff(last, data);
+        if (!first && diff == null) {
+            return;
+        }
+        try {
+            if (first || !journaled || records >= COMPACT_RECORDS) {
+                PMap full = PMap.builder()
+                        .put(KEY_SOURCE, source)
+                        .put(KEY_ROOT, rootID)
+                        .put(KEY_TIME, String.valueOf(System.currentTimeMillis()))
+                        .put(KEY_DATA, data)
+                        .build();
+                writeFull(full);
+                journaled = true;
+                records = 1;
+            } else {
+                writeAppend(diff);
+                records++;
+            }
+            last = data;
+            lastSource = source;
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Unable to write recovery journal " + file, ex);
+            // write a full record next time
+            journaled = false;
+        }
+    }
+
+    private void writeFull(PMap record) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), "journal", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.write(encode(record));
+                channel.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void writeAppend(PMap record) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(encode(record));
+            channel.force(false);
+        }
+    }
+
+    private static void delete(Path journalFile) {
+        try {
+            Files.deleteIfExists(journalFile);
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Unable to delete recovery journal " + journalFile, ex);
+        }
+    }
+
+    /**
+     * Create a record of the top level entries added, changed or removed
+     * between the previous and current data.
+     *
+     * @param previous previous data
+     * @param current current data
+     * @return record, or null if there are no changes
+     */
+    static PMap diff(PMap previous, PMap current) {
+        PMap.Builder put = PMap.builder();
+        boolean changed = false;
+        for (String key : current.keys()) {
+            Value value = current.get(key);
+            Value old = previous.get(key);
+            if (old == null || !old.equals(value)) {
+                put.put(key, value);
+                changed = true;
+            }
+        }
+        List<Value> remove = new ArrayList<>();
+        for (String key : previous.keys()) {
+            if (current.get(key) == null) {
+                remove.add(PString.of(key));
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return null;
+        }
+        return PMap.builder()
+                .put(KEY_TIME, String.valueOf(System.currentTimeMillis()))
+                .put(KEY_PUT, put.build())
+                .put(KEY_REMOVE, PArray.of(remove))
+                .build();
+    }
+
+    /**
+     * Apply a record created by {@link #diff(PMap, PMap)} to data.
+     *
+     * @param data data
+     * @param record record of changes
+     * @return updated data
+     */
+    static PMap apply(PMap data, PMap record) {
+        PMap put = PMap.from(record.get(KEY_PUT)).orElse(PMap.EMPTY);
+        PArray remove = PArray.from(record.get(KEY_REMOVE)).orElse(PArray.EMPTY);
+        Map<String, Value> entries = new LinkedHashMap<>();
+        for (String key : data.keys()) {
+            entries.put(key, data.get(key));
+        }
+        for (Value key : remove) {
+            entries.remove(key.toString());
+        }
+        for (String key : put.keys()) {
+            entries.put(key, put.get(key));
+        }
+        PMap.Builder builder = PMap.builder();
+        entries.forEach((key, value) -> builder.put(key, value));
+        return builder.build();
+    }
+
+    static ByteBuffer encode(PMap record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(record.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + bytes.size());
+        buffer.putInt(bytes.size());
+        buffer.put(bytes.toByteArray());
+        return buffer.flip();
+    }
+
+    // returns null at end of journal, or at a partially written record
+    static PMap readRecord(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException ex) {
+            return null;
+        }
+        if (length <= 0) {
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            return null;
+        }
+        try (InputStream data = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return PMap.parse(new String(data.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+}
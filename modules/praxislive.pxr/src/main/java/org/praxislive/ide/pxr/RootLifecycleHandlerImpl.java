@@ -29,6 +29,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.netbeans.spi.project.ProjectServiceProvider;
 import org.praxislive.ide.project.spi.RootLifecycleHandler;
@@ -36,6 +38,9 @@ import org.praxislive.ide.core.api.Task;
 import org.openide.DialogDisplayer;
 import org.openide.NotifyDescriptor;
 import org.openide.util.Lookup;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.protocols.StartableProtocol;
+import org.praxislive.ide.core.api.CallBatch;
 import org.praxislive.ide.project.api.PraxisProject;
 
 /**
@@ -45,6 +50,8 @@ import org.praxislive.ide.project.api.PraxisProject;
         service = RootLifecycleHandler.class)
 public class RootLifecycleHandlerImpl implements RootLifecycleHandler {
 
+    private static final Logger LOG = Logger.getLogger(RootLifecycleHandlerImpl.class.getName());
+
     private final PraxisProject project;
 
     public RootLifecycleHandlerImpl(Lookup lookup) {
@@ -89,7 +96,7 @@ public class RootLifecycleHandlerImpl implements RootLifecycleHandler {
                 throw new IllegalStateException();
             }
             updateState(State.RUNNING);
-            roots.forEach(r -> r.send("stop", List.of()));
+            stopRoots();
             NotifyDescriptor nd = new NotifyDescriptor.Confirmation(buildDialogMessage(), description);
             Object ret = DialogDisplayer.getDefault().notify(nd);
             if (ret == NotifyDescriptor.YES_OPTION) {
@@ -102,6 +109,7 @@ public class RootLifecycleHandlerImpl implements RootLifecycleHandler {
                 return delegate.execute();
             } else if (ret == NotifyDescriptor.NO_OPTION) {
                 // don't save - pass completed so operation can continue
+                roots.forEach(PXRRootProxy::discardRecovery);
                 updateState(State.COMPLETED);
                 return state;
             } else {
@@ -112,6 +120,29 @@ public class RootLifecycleHandlerImpl implements RootLifecycleHandler {
 
         }
 
+        private void stopRoots() {
+            var batch = new CallBatch();
+            List<PXRRootProxy> stopped = List.copyOf(roots);
+            stopped.forEach(r -> batch.add(
+                    ControlAddress.of(r.getAddress(), StartableProtocol.STOP),
+                    List.of()));
+            stopped.get(0).getHelper().sendBatch(batch)
+                    .whenComplete((results, ex) -> {
+                        if (ex != null) {
+                            LOG.log(Level.WARNING, "Unable to stop roots", ex);
+                            return;
+                        }
+                        for (int i = 0; i < results.size(); i++) {
+                            var result = results.get(i);
+                            if (result.isError()) {
+                                LOG.log(Level.WARNING, "Unable to stop {0} : {1}",
+                                        new Object[]{stopped.get(i).getAddress(),
+                                            result.args()});
+                            }
+                        }
+                    });
+        }
+
         private String buildDialogMessage() {
             return roots.stream()
                     .map(r -> r.getSource().getName())
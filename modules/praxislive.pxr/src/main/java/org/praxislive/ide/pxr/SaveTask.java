@@ -24,21 +24,39 @@ package org.praxislive.ide.pxr;
 import java.awt.EventQueue;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.netbeans.api.progress.ProgressHandle;
 import org.openide.filesystems.FileUtil;
 import org.openide.util.Exceptions;
 import org.openide.util.RequestProcessor;
+import org.praxislive.core.ComponentAddress;
 import org.praxislive.core.types.PMap;
 import org.praxislive.ide.core.api.AbstractTask;
+import org.praxislive.ide.core.api.CallExecutionException;
 import org.praxislive.project.GraphModel;
 
 /**
@@ -47,9 +65,13 @@ import org.praxislive.project.GraphModel;
 abstract class SaveTask extends AbstractTask {
 
     private final static RequestProcessor RP = new RequestProcessor();
+    // render and write files of multiple roots concurrently
+    private final static RequestProcessor WRITERS = new RequestProcessor(
+            SaveTask.class.getName() + ".Writers",
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
 
     private final static Logger LOG = Logger.getLogger(SaveTask.class.getName());
-    private final static Map<PXRDataObject, Single> activeTasks = new HashMap<>();
+    private final static Map<PXRDataObject, SaveTask> activeTasks = new HashMap<>();
 
     static SaveTask createSaveTask(Set<PXRDataObject> dobs) {
         if (dobs == null || dobs.isEmpty()) {
@@ -57,7 +79,7 @@ abstract class SaveTask extends AbstractTask {
         }
         if (dobs.size() == 1) {
             PXRDataObject dob = dobs.iterator().next();
-            Single active = activeTasks.get(dob);
+            SaveTask active = activeTasks.get(dob);
             if (active != null) {
                 return new Compound(Collections.singleton(dob));
             } else {
@@ -68,6 +90,91 @@ abstract class SaveTask extends AbstractTask {
         }
     }
 
+    /**
+     * Render serialized root data to file content, and write it to the file of
+     * the data object if its hash differs from the last saved hash. The proxy
+     * cache is updated on write. Must not be called on the event thread.
+     *
+     * @param dob data object to save
+     * @param root root proxy
+     * @param data serialized root data
+     * @param lastHash hash of last saved content, may be null
+     * @return hash of content
+     */
+    private static String render(PXRDataObject dob, PXRRootProxy root,
+            PMap data, String lastHash) {
+        String rootID = root.getAddress().rootID();
+        String content = GraphModel.fromSerializedRoot(rootID, data)
+                .withContext(dob.getPrimaryFile().getParent().toURI())
+                .writeToString();
+        String hash = ProxyCache.hash(content);
+        if (hash.equals(lastHash) && dob.getPrimaryFile().isValid()) {
+            LOG.log(Level.FINE, "{0} unchanged, skipping write", rootID);
+            return hash;
+        }
+        saveToFile(dob, content);
+        // keep the proxy cache in step with the saved file
+        PXRHelper helper = root.getHelper();
+        ProxyCache.write(root.getProject(), dob.getPrimaryFile(), hash,
+                ProxyCache.fromSerialized(rootID, data, helper::intern));
+        return hash;
+    }
+
+    // write to a temporary file in the same folder, force to disk, and
+    // move into place, so a crash never leaves a partially written file
+    private static void saveToFile(PXRDataObject dob, String content) {
+        Path file = FileUtil.toPath(dob.getPrimaryFile());
+        try {
+            Path tmp = Files.createTempFile(file.getParent(),
+                    "." + file.getFileName(), ".tmp");
+            try {
+                copyPermissions(file, tmp);
+                try (FileChannel channel = FileChannel.open(tmp,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                        Writer writer = new BufferedWriter(
+                                Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+                    writer.write(content);
+                    writer.flush();
+                    channel.force(true);
+                }
+                try {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException ioex) {
+            throw new UncheckedIOException(ioex);
+        }
+        dob.getPrimaryFile().refresh();
+    }
+
+    // temporary files are created owner only, so copy the permissions of the
+    // file being replaced where the file system supports them
+    private static void copyPermissions(Path file, Path tmp) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            Files.setPosixFilePermissions(tmp, Files.getPosixFilePermissions(file));
+        } catch (UnsupportedOperationException ex) {
+            LOG.log(Level.FINE, "Unable to copy permissions of {0}", file);
+        }
+    }
+
+    private static String errorMessage(Throwable ex) {
+        if (ex instanceof CompletionException && ex.getCause() != null) {
+            return errorMessage(ex.getCause());
+        }
+        if (ex instanceof CallExecutionException err) {
+            return err.error().message();
+        }
+        return ex.toString();
+    }
+
     private static class Single extends SaveTask {
 
         private final PXRDataObject dob;
@@ -89,15 +196,17 @@ abstract class SaveTask extends AbstractTask {
             ph.start();
             ph.progress("Syncing.");
 
+            String lastHash = root.savedHash();
+            long modCount = root.modCount();
             root.getHelper().componentData(root.getAddress())
-                    .thenApply(this::toFileContent)
-                    .thenAcceptAsync(this::saveToFile, RP)
-                    .whenCompleteAsync((res, ex) -> {
+                    .thenApplyAsync(data -> render(dob, root, data, lastHash), RP)
+                    .whenCompleteAsync((hash, ex) -> {
                         assert EventQueue.isDispatchThread();
                         if (ex != null) {
                             Exceptions.printStackTrace(ex);
                             updateState(State.ERROR);
                         } else {
+                            root.markSaved(hash, modCount);
                             updateState(State.COMPLETED);
                         }
                         activeTasks.remove(dob);
@@ -106,74 +215,161 @@ abstract class SaveTask extends AbstractTask {
 
         }
 
-        private String toFileContent(PMap data) {
-            return GraphModel.fromSerializedRoot(root.getAddress().rootID(), data)
-                    .withContext(dob.getPrimaryFile().getParent().toURI())
-                    .writeToString();
-        }
-
-        private void saveToFile(String content) {
-            try {
-                Files.writeString(FileUtil.toPath(dob.getPrimaryFile()), content);
-            } catch (IOException ioex) {
-                throw new UncheckedIOException(ioex);
-            }
-
-        }
     }
 
+    /**
+     * Save multiple roots. The roots are serialized in a single batched
+     * script, and their files rendered and written concurrently. Files whose
+     * content is unchanged since they were built or last saved are not
+     * rewritten. A failure to
+     * save one root does not stop the others being saved - errors are
+     * reported per root in the task log. Roots already being saved by another
+     * task are waited on rather than saved again.
+     */
     private static class Compound extends SaveTask implements PropertyChangeListener {
 
-        private final Set<Single> childTasks;
+        private final Set<SaveTask> childTasks;
         private final Set<PXRDataObject> dobs;
+        private final List<String> log;
+
+        private ProgressHandle ph;
+        private int pending;
+        private int done;
+        private boolean failed;
+        private boolean cancelled;
 
         private Compound(Set<PXRDataObject> dobs) {
             this.dobs = dobs;
             childTasks = new HashSet<>(dobs.size());
+            log = new ArrayList<>();
         }
 
         @Override
         public void handleExecute() {
-            dobs.forEach(this::initChildTask);
+            Map<PXRDataObject, PXRRootProxy> roots = new LinkedHashMap<>();
+            for (PXRDataObject dob : dobs) {
+                SaveTask active = activeTasks.get(dob);
+                if (active != null) {
+                    childTasks.add(active);
+                    active.addPropertyChangeListener(this);
+                    continue;
+                }
+                PXRRootProxy root = PXRRootRegistry.findRootForFile(dob.getPrimaryFile());
+                if (root != null) {
+                    roots.put(dob, root);
+                }
+            }
+            if (roots.isEmpty()) {
+                checkComplete();
+                return;
+            }
+            roots.keySet().forEach(dob -> {
+                dob.preSave();
+                activeTasks.put(dob, this);
+            });
+            pending = roots.size();
+            ph = ProgressHandle.createHandle("Saving " + roots.size() + " roots", this);
+            ph.setInitialDelay(0);
+            ph.start(roots.size());
+            ph.progress("Syncing.");
+
+            Map<PXRDataObject, String> lastHashes = new HashMap<>();
+            Map<PXRDataObject, Long> modCounts = new HashMap<>();
+            roots.forEach((dob, root) -> {
+                lastHashes.put(dob, root.savedHash());
+                modCounts.put(dob, root.modCount());
+            });
+            PXRHelper helper = roots.values().iterator().next().getHelper();
+            helper.serializeRoots(roots.values().stream()
+                    .map(PXRRootProxy::getAddress)
+                    .toList())
+                    .whenComplete((data, ex) -> {
+                        assert EventQueue.isDispatchThread();
+                        roots.forEach((dob, root) -> {
+                            if (ex != null) {
+                                rootComplete(dob, root, null, ex, 0);
+                                return;
+                            }
+                            PMap rootData = data.get(root.getAddress());
+                            // serialize a failed root again on its own, so
+                            // that the hub error is reported for the root
+                            CompletionStage<PMap> rootStage = rootData != null
+                                    ? CompletableFuture.completedStage(rootData)
+                                    : helper.componentData(root.getAddress());
+                            rootStage.thenApplyAsync(d -> {
+                                if (cancelled) {
+                                    throw new CompletionException(
+                                            new IllegalStateException("Cancelled"));
+                                }
+                                return render(dob, root, d, lastHashes.get(dob));
+                            }, WRITERS).whenCompleteAsync((hash, wex)
+                                    -> rootComplete(dob, root, hash, wex, modCounts.get(dob)),
+                                    EventQueue::invokeLater);
+                        });
+                    });
         }
 
-        private void initChildTask(PXRDataObject dob) {
-            Single child = activeTasks.get(dob);
-            if (child == null) {
-                child = new Single(dob);
+        private void rootComplete(PXRDataObject dob, PXRRootProxy root,
+                String hash, Throwable ex, long modCount) {
+            activeTasks.remove(dob);
+            if (ex != null) {
+                if (!cancelled) {
+                    LOG.log(Level.WARNING, "Unable to save " + root.getAddress(), ex);
+                    log.add(root.getAddress() + " : " + errorMessage(ex));
+                }
+                failed = true;
+            } else {
+                root.markSaved(hash, modCount);
             }
-            childTasks.add(child);
-            child.addPropertyChangeListener(this);
-            if (child.getState() != State.RUNNING) {
-                child.execute();
+            pending--;
+            ph.progress(root.getAddress().toString(), ++done);
+            if (pending == 0) {
+                ph.finish();
             }
+            checkComplete();
+        }
+
+        private void checkComplete() {
+            if (getState() != State.RUNNING || pending > 0 || !childTasks.isEmpty()) {
+                return;
+            }
+            updateState(failed ? State.ERROR : State.COMPLETED);
         }
 
         @Override
         public boolean handleCancel() {
-            for (Single child : childTasks) {
+            cancelled = true;
+            for (SaveTask child : childTasks) {
+                child.removePropertyChangeListener(this);
                 child.cancel();
             }
+            childTasks.clear();
             return true;
         }
 
+        @Override
+        public List<String> log() {
+            return List.copyOf(log);
+        }
+
         @Override
         public void propertyChange(PropertyChangeEvent pce) {
-            Single task = (Single) pce.getSource();
+            SaveTask task = (SaveTask) pce.getSource();
             if (this.getState() != State.RUNNING) {
                 task.removePropertyChangeListener(this);
                 return;
             }
             switch (task.getState()) {
                 case ERROR, CANCELLED -> {
-                    childTasks.clear();
-                    updateState(task.getState());
+                    task.removePropertyChangeListener(this);
+                    childTasks.remove(task);
+                    failed = true;
+                    checkComplete();
                 }
                 case COMPLETED -> {
+                    task.removePropertyChangeListener(this);
                     childTasks.remove(task);
-                    if (childTasks.isEmpty()) {
-                        updateState(State.COMPLETED);
-                    }
+                    checkComplete();
                 }
                 default -> {
                     // nothing?
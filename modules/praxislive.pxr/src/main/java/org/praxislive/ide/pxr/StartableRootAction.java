@@ -36,6 +36,7 @@ import org.openide.awt.ActionRegistration;
 import org.praxislive.core.ControlAddress;
 import org.praxislive.core.protocols.StartableProtocol;
 import org.praxislive.core.types.PBoolean;
+import org.praxislive.ide.core.api.Callback;
 import org.praxislive.ide.core.api.HubUnavailableException;
 import org.openide.util.ContextAwareAction;
 import org.openide.util.Exceptions;
@@ -93,7 +94,7 @@ public class StartableRootAction extends AbstractAction
             } else {
                 to = ControlAddress.of(root.getAddress(), StartableProtocol.STOP);
             }
-            root.getHelper().send(to, List.of(), null);
+            root.getHelper().send(to, List.of(), (Callback) null);
         } catch (HubUnavailableException ex) {
             Exceptions.printStackTrace(ex);
         }
@@ -23,6 +23,7 @@ package org.praxislive.ide.pxr.api;
 
 import org.praxislive.core.Value;
 import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.types.PMap;
 import org.praxislive.core.types.PString;
 import org.praxislive.ide.model.ComponentProxy;
 
@@ -68,6 +69,19 @@ public interface Attributes {
         }
     }
 
+    /**
+     * Set multiple attributes at once. Attributes with empty values (see
+     * {@link Value#isEmpty()}) are cleared. Implementations should only send
+     * attributes that have changed, as a single update.
+     *
+     * @param attributes map of attribute keys to values
+     */
+    public default void setAttributeValues(PMap attributes) {
+        for (String key : attributes.keys()) {
+            setAttributeValue(key, attributes.get(key));
+        }
+    }
+
     /**
      * Get an attribute as the specified Value type. If the attribute is not set
      * or cannot be converted to the given type this method will return
@@ -179,4 +193,20 @@ public interface Attributes {
         attrs.setAttributeValue(key, value);
     }
 
+    /**
+     * Set multiple attributes on the given component at once. Attributes with
+     * empty values will be cleared. If the component does not support
+     * Attributes, the instruction is ignored.
+     *
+     * @param cmp component on which to set attributes
+     * @param attributes map of attribute keys to values
+     */
+    public static void set(ComponentProxy cmp, PMap attributes) {
+        Attributes attrs = cmp.getLookup().lookup(Attributes.class);
+        if (attrs == null) {
+            return;
+        }
+        attrs.setAttributeValues(attributes);
+    }
+
 }
@@ -0,0 +1,358 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2024 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.ide.pxr;
+
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.openide.filesystems.FileObject;
+import org.openide.loaders.DataObject;
+import org.openide.util.Lookup;
+import org.openide.util.lookup.AbstractLookup;
+import org.openide.util.lookup.InstanceContent;
+import org.openide.util.lookup.Lookups;
+import org.openide.util.lookup.ProxyLookup;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.MainThread;
+import org.praxislive.core.Value;
+import org.praxislive.hub.Hub;
+import org.praxislive.ide.core.api.Callback;
+import org.praxislive.ide.core.api.ExtensionContainer;
+import org.praxislive.ide.core.api.Logging;
+import org.praxislive.ide.core.api.SyncScheduler;
+import org.praxislive.ide.project.api.PraxisProject;
+
+/**
+ * Test fixture running an in-process hub for a synthetic project, set up in
+ * the same way as the project hub manager does, but without a child process
+ * or any UI. Roots are built from .pxr files using {@link PXRFileHandler}, so
+ * the proxy tree is the same as in the IDE, and timings and heap usage of the
+ * proxies can be measured.
+ * <p>
+ * Components are created by the core root of the hub itself, so the component
+ * types used must be available on the test classpath. Methods may be called
+ * from any thread except the Swing event thread.
+ */
+final class HeadlessHub implements AutoCloseable {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final TestProject project;
+    private final InstanceContent lookupContent;
+    private final SyncScheduler syncScheduler;
+
+    private Hub hub;
+    private ExtensionContainer container;
+    private PXRHelper helper;
+
+    private HeadlessHub(FileObject projectDir) {
+        this.lookupContent = new InstanceContent();
+        this.project = new TestProject(projectDir, new AbstractLookup(lookupContent));
+        this.syncScheduler = new SyncScheduler();
+    }
+
+    /**
+     * Start a hub for a project in the provided directory, and wait for the
+     * PXR helper to connect.
+     *
+     * @param projectDir project directory
+     * @return running hub
+     * @throws Exception if the hub fails to start or the helper to connect
+     */
+    static HeadlessHub start(FileObject projectDir) throws Exception {
+        HeadlessHub headless = new HeadlessHub(projectDir);
+        headless.init();
+        return headless;
+    }
+
+    private void init() throws Exception {
+        container = ExtensionContainer.create(project.getLookup());
+        container.extensions().forEach(lookupContent::add);
+        Logging log = Logging.create(project.getLookup());
+        lookupContent.add(syncScheduler);
+        hub = Hub.builder()
+                .addExtension(log)
+                .addExtension(container)
+                .extendLookup(log.getLogLevel())
+                .extendLookup(new EventThreadMain())
+                .extendLookup(syncScheduler)
+                .build();
+        hub.start();
+        helper = project.getLookup().lookup(PXRHelper.class);
+        if (helper == null) {
+            throw new IllegalStateException("No PXRHelper found");
+        }
+        waitFor(() -> helper.isConnected());
+    }
+
+    /**
+     * The project the hub is running for.
+     *
+     * @return project
+     */
+    PraxisProject project() {
+        return project;
+    }
+
+    /**
+     * The PXR helper installed in the hub.
+     *
+     * @return helper
+     */
+    PXRHelper helper() {
+        return helper;
+    }
+
+    /**
+     * The sync scheduler shared by all helpers in the hub.
+     *
+     * @return sync scheduler
+     */
+    SyncScheduler syncScheduler() {
+        return syncScheduler;
+    }
+
+    /**
+     * Build the root in the provided file, and wait until the root proxy has
+     * a child proxy for every child in the file.
+     *
+     * @param file .pxr file inside the project directory
+     * @param expectedChildren number of children of the root in the file
+     * @return root proxy
+     * @throws Exception if the file fails to build or the proxies are not
+     * created in time
+     */
+    PXRRootProxy build(FileObject file, int expectedChildren) throws Exception {
+        PXRDataObject dob = (PXRDataObject) DataObject.find(file);
+        PXRFileHandler handler = new PXRFileHandler(project, dob);
+        CompletableFuture<List<Value>> result = new CompletableFuture<>();
+        EventQueue.invokeAndWait(() -> {
+            try {
+                handler.process(Callback.create(r -> {
+                    if (r.isError()) {
+                        result.completeExceptionally(
+                                new IOException(String.join("\n", handler.warnings())));
+                    } else {
+                        result.complete(r.args());
+                    }
+                }));
+            } catch (Exception ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        result.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        PXRRootRegistry registry = project.getLookup().lookup(PXRRootRegistry.class);
+        PXRRootProxy root = onEventThread(() -> registry.getRootByFile(file));
+        if (root == null) {
+            throw new IllegalStateException("No root proxy registered for " + file);
+        }
+        waitFor(() -> root.children().count() >= expectedChildren);
+        return root;
+    }
+
+    /**
+     * Count the proxies in the tree of the provided container, including the
+     * container itself.
+     *
+     * @param container container proxy
+     * @return number of proxies
+     * @throws Exception if counting on the event thread fails
+     */
+    int countProxies(PXRContainerProxy container) throws Exception {
+        return onEventThread(() -> countProxiesImpl(container));
+    }
+
+    private int countProxiesImpl(PXRContainerProxy container) {
+        return 1 + container.children()
+                .map(container::getChild)
+                .mapToInt(child -> child instanceof PXRContainerProxy c
+                ? countProxiesImpl(c) : 1)
+                .sum();
+    }
+
+    /**
+     * Count the distinct info instances, by identity, in the tree of the
+     * provided container, including the container itself.
+     *
+     * @param container container proxy
+     * @return number of info instances
+     * @throws Exception if counting on the event thread fails
+     */
+    int countInfoInstances(PXRContainerProxy container) throws Exception {
+        return onEventThread(() -> {
+            Set<ComponentInfo> infos = Collections.newSetFromMap(new IdentityHashMap<>());
+            collectInfo(container, infos);
+            return infos.size();
+        });
+    }
+
+    private void collectInfo(PXRComponentProxy proxy, Set<ComponentInfo> infos) {
+        infos.add(proxy.getInfo());
+        if (proxy instanceof PXRContainerProxy container) {
+            container.children()
+                    .map(container::getChild)
+                    .forEach(child -> collectInfo(child, infos));
+        }
+    }
+
+    /**
+     * Run the task and measure the elapsed time, and the change in used heap
+     * after garbage collection.
+     *
+     * @param <T> result type
+     * @param task task to run
+     * @return measurement including the task result
+     * @throws Exception if the task throws
+     */
+    <T> Measurement<T> measure(Callable<T> task) throws Exception {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        T result = task.call();
+        long time = System.nanoTime() - start;
+        long heapAfter = usedHeap();
+        return new Measurement<>(result, Duration.ofNanos(time), heapAfter - heapBefore);
+    }
+
+    /**
+     * Count the calls completed by the PXR helper over the provided period,
+     * including property syncs, and return the rate per second.
+     *
+     * @param period measurement period
+     * @return calls per second
+     * @throws InterruptedException if interrupted while waiting
+     */
+    double callRate(Duration period) throws InterruptedException {
+        long before = helper.getCallMetrics().total().calls();
+        Thread.sleep(period.toMillis());
+        long after = helper.getCallMetrics().total().calls();
+        return (after - before) * 1000.0 / period.toMillis();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (hub == null) {
+            return;
+        }
+        onEventThread(() -> {
+            PXRRootRegistry registry = project.getLookup().lookup(PXRRootRegistry.class);
+            for (PXRRootProxy root : registry.getRoots()) {
+                root.dispose();
+            }
+            return null;
+        });
+        container.extensions().forEach(lookupContent::remove);
+        lookupContent.remove(syncScheduler);
+        hub.shutdown();
+        hub.await();
+        hub = null;
+    }
+
+    static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    static <T> T onEventThread(Callable<T> task) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        EventQueue.invokeAndWait(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Exception ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result.get();
+    }
+
+    private static void waitFor(Callable<Boolean> condition) throws Exception {
+        long end = System.nanoTime() + TIMEOUT.toNanos();
+        while (!onEventThread(condition)) {
+            if (System.nanoTime() > end) {
+                throw new TimeoutException();
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Result of {@link #measure(java.util.concurrent.Callable)}.
+     *
+     * @param <T> result type
+     * @param result task result
+     * @param time elapsed time
+     * @param heap change in used heap, in bytes
+     */
+    static record Measurement<T>(T result, Duration time, long heap) {
+
+    }
+
+    private static final class TestProject implements PraxisProject {
+
+        private final FileObject projectDir;
+        private final Lookup lookup;
+
+        private TestProject(FileObject projectDir, Lookup extensions) {
+            this.projectDir = projectDir;
+            PXRRootRegistry registry = new PXRRootRegistry(Lookups.singleton(this));
+            this.lookup = new ProxyLookup(Lookups.fixed(this, registry), extensions);
+        }
+
+        @Override
+        public FileObject getProjectDirectory() {
+            return projectDir;
+        }
+
+        @Override
+        public Lookup getLookup() {
+            return lookup;
+        }
+
+    }
+
+    private static final class EventThreadMain implements MainThread {
+
+        @Override
+        public void runLater(Runnable task) {
+            EventQueue.invokeLater(task);
+        }
+
+        @Override
+        public boolean isMainThread() {
+            return EventQueue.isDispatchThread();
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.praxislive.ide.pxr;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import static org.junit.Assert.*;
+
+/**
+ * Builds a synthetic root through {@link HeadlessHub} and reports proxy tree
+ * construction time, sync traffic and memory per proxy.
+ * <p>
+ * A root of 500 components is built in every test run. Like the JMH
+ * benchmarks, the large root of 10000 components is only built with the
+ * <code>benchmarks</code> profile, or when the <code>praxis.scale</code> system
+ * property is true. Its size can be set with the
+ * <code>praxis.scale.components</code> system property.
+ */
+public class ProxyScaleTest {
+
+    private static final Logger LOG = Logger.getLogger(ProxyScaleTest.class.getName());
+
+    private static final String ROOT_TYPE = "root:custom";
+    private static final String COMPONENT_TYPE = "core:math:add";
+    private static final int DEFAULT_COMPONENTS = 500;
+    private static final int LARGE_COMPONENTS = 10_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HeadlessHub hub;
+    private FileObject projectDir;
+
+    public ProxyScaleTest() {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        File dir = folder.newFolder("scale");
+        projectDir = FileUtil.toFileObject(FileUtil.normalizeFile(dir));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (hub != null) {
+            hub.close();
+        }
+    }
+
+    @Test
+    public void testProxyTree() throws Exception {
+        buildProxyTree(DEFAULT_COMPONENTS);
+    }
+
+    @Test
+    public void testLargeProxyTree() throws Exception {
+        Assume.assumeTrue("Scale tests disabled", Boolean.getBoolean("praxis.scale"));
+        buildProxyTree(Integer.getInteger("praxis.scale.components", LARGE_COMPONENTS));
+    }
+
+    private void buildProxyTree(int components) throws Exception {
+        LOG.log(Level.INFO, "proxyTree : {0} components", components);
+        hub = HeadlessHub.start(projectDir);
+        FileObject file = projectDir.createData("scale", "pxr");
+        try (var out = file.getOutputStream()) {
+            out.write(createScript("scale", components).getBytes(StandardCharsets.UTF_8));
+        }
+
+        var build = hub.measure(() -> hub.build(file, components));
+        PXRRootProxy root = build.result();
+        int proxies = hub.countProxies(root);
+        assertEquals(components + 1, proxies);
+        // all children are the same type, so share one info besides the root's
+        int infos = hub.countInfoInstances(root);
+        assertEquals(2, infos);
+
+        double callRate = hub.callRate(Duration.ofSeconds(2));
+        LOG.info(String.format(Locale.ROOT,
+                "build %d ms, %d proxies, %d info instances, %.0f bytes per proxy, %.1f calls/s, scheduled %d syncs/s",
+                build.time().toMillis(), proxies, infos, (double) build.heap() / proxies,
+                callRate, hub.syncScheduler().getRequestRate()));
+    }
+
+    static String createScript(String id, int components) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("@ /").append(id).append(' ').append(ROOT_TYPE).append(" {\n");
+        for (int i = 0; i < components; i++) {
+            sb.append("  @ ./add").append(i).append(' ').append(COMPONENT_TYPE).append(" {\n");
+            sb.append("    #%graph.x ").append((i % 50) * 150).append('\n');
+            sb.append("    #%graph.y ").append((i / 50) * 100).append('\n');
+            sb.append("    .value ").append(i % 10).append('\n');
+            sb.append("  }\n");
+        }
+        for (int i = 1; i < components; i++) {
+            sb.append("  ~ ./add").append(i - 1).append("!out ./add").append(i).append("!in\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+}
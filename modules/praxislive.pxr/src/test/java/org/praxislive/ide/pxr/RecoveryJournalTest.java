@@ -0,0 +1,131 @@
+package org.praxislive.ide.pxr;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.Test;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PMap;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the record format of RecoveryJournal - diffing and applying
+ * changes, and reading a journal with a partially written last record.
+ */
+public class RecoveryJournalTest {
+
+    private static final PMap BASE = PMap.builder()
+            .put("%graph.x", "10")
+            .put("@ ./osc", map("frequency", "440"))
+            .put("@ ./gain", map("level", "0.5"))
+            .build();
+
+    private static final PMap CHANGED = PMap.builder()
+            .put("%graph.x", "10")
+            .put("@ ./osc", map("frequency", "220"))
+            .put("@ ./filter", map("cutoff", "1000"))
+            .build();
+
+    public RecoveryJournalTest() {
+    }
+
+    @Test
+    public void testDiff() {
+        assertNull(RecoveryJournal.diff(BASE, BASE));
+
+        PMap record = RecoveryJournal.diff(BASE, CHANGED);
+        assertNotNull(record);
+        PMap put = PMap.from(record.get("put")).orElseThrow();
+        assertEquals(2, put.size());
+        assertEquals(CHANGED.get("@ ./osc"), put.get("@ ./osc"));
+        assertEquals(CHANGED.get("@ ./filter"), put.get("@ ./filter"));
+        assertNull(put.get("%graph.x"));
+        PArray remove = PArray.from(record.get("remove")).orElseThrow();
+        assertEquals(1, remove.size());
+        assertEquals("@ ./gain", remove.get(0).toString());
+    }
+
+    @Test
+    public void testApply() {
+        PMap record = RecoveryJournal.diff(BASE, CHANGED);
+        PMap result = RecoveryJournal.apply(BASE, record);
+        assertEquals(CHANGED.size(), result.size());
+        for (String key : CHANGED.keys()) {
+            assertEquals(CHANGED.get(key), result.get(key));
+        }
+        assertNull(result.get("@ ./gain"));
+
+        // applying the reverse diff restores the original
+        PMap restored = RecoveryJournal.apply(result, RecoveryJournal.diff(CHANGED, BASE));
+        for (String key : BASE.keys()) {
+            assertEquals(BASE.get(key), restored.get(key));
+        }
+        assertEquals(BASE.size(), restored.size());
+    }
+
+    @Test
+    public void testReadRecords() throws Exception {
+        PMap header = PMap.builder().put("source", "hash").put("data", BASE).build();
+        PMap record = RecoveryJournal.diff(BASE, CHANGED);
+        ByteArrayOutputStream journal = new ByteArrayOutputStream();
+        write(journal, RecoveryJournal.encode(header));
+        write(journal, RecoveryJournal.encode(record));
+
+        try (DataInputStream in = input(journal.toByteArray())) {
+            PMap readHeader = RecoveryJournal.readRecord(in);
+            assertEquals("hash", readHeader.getString("source", ""));
+            PMap data = PMap.from(readHeader.get("data")).orElseThrow();
+            data = RecoveryJournal.apply(data, RecoveryJournal.readRecord(in));
+            assertEquals(CHANGED.get("@ ./osc").toString(), data.get("@ ./osc").toString());
+            assertNull(data.get("@ ./gain"));
+            assertNull(RecoveryJournal.readRecord(in));
+        }
+    }
+
+    @Test
+    public void testTornRecord() throws Exception {
+        PMap header = PMap.builder().put("source", "hash").put("data", BASE).build();
+        PMap record = RecoveryJournal.diff(BASE, CHANGED);
+        ByteArrayOutputStream journal = new ByteArrayOutputStream();
+        write(journal, RecoveryJournal.encode(header));
+        int complete = journal.size();
+        write(journal, RecoveryJournal.encode(record));
+        byte[] bytes = journal.toByteArray();
+
+        // record body cut short
+        try (DataInputStream in = input(Arrays.copyOf(bytes, bytes.length - 3))) {
+            assertNotNull(RecoveryJournal.readRecord(in));
+            assertNull(RecoveryJournal.readRecord(in));
+        }
+
+        // length prefix cut short
+        try (DataInputStream in = input(Arrays.copyOf(bytes, complete + 2))) {
+            assertNotNull(RecoveryJournal.readRecord(in));
+            assertNull(RecoveryJournal.readRecord(in));
+        }
+
+        // zero filled tail
+        try (DataInputStream in = input(Arrays.copyOf(
+                Arrays.copyOf(bytes, complete), complete + 16))) {
+            assertNotNull(RecoveryJournal.readRecord(in));
+            assertNull(RecoveryJournal.readRecord(in));
+        }
+    }
+
+    private static PMap map(String key, String value) {
+        return PMap.builder().put(key, value).build();
+    }
+
+    private static void write(ByteArrayOutputStream out, ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        out.writeBytes(bytes);
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+}